@@ -0,0 +1,53 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.Random;
+
+/**
+ *  <p>
+ *  Seeds engines with a repeatable random pattern of a given density, so that every
+ *  benchmark and engine starts from the same cells.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+final class BenchmarkSeeds {
+
+    /**
+     * Constant detailing the seed of the random number generator used for every pattern.
+     */
+    private static final long RANDOM_SEED = 2017;
+
+    /**
+     * Private constructor, the class only holds static utility methods.
+     */
+    private BenchmarkSeeds() {}
+
+    /**
+     * <p>
+     * Brings each cell of the engine's grid to life with the given probability.
+     * </p>
+     * @param engine The engine to seed.
+     * @param density The probability of each cell being alive.
+     */
+    static void seed(LifeEngine engine, double density) {
+
+        Random random = new Random(RANDOM_SEED);
+        int span = engine.getGridDimensions();
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for (int colIdx = 0; colIdx < span; colIdx++) {
+                if (random.nextDouble() < density) {
+                    engine.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param gridType The name of a grid type, SHADED or UNSHADED.
+     * @return The matching GRID_TYPE_SHADED or GRID_TYPE_UNSHADED constant.
+     */
+    static int gridType(String gridType) {
+        return "SHADED".equals(gridType) ? Grid.GRID_TYPE_SHADED : Grid.GRID_TYPE_UNSHADED;
+    }
+}
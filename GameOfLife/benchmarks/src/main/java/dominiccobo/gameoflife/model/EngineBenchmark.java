@@ -0,0 +1,82 @@
+package dominiccobo.gameoflife.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  <p>
+ *  Benchmarks a single mutation of each engine, and of each Grid step mode, from the
+ *  same seeded pattern, so that any engine can be compared against the original
+ *  full scan of Grid. Each is also run under HighLife, B36/S23, to compare the cost of
+ *  a rule other than John Conway's.
+ *  </p>
+ *  <p>
+ *  The grid-vector engine only uses the vector kernel when it is compiled in and the
+ *  jdk.incubator.vector module is added to the forked JVM, otherwise it measures the
+ *  scalar fallback.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"grid", "grid-incremental", "grid-parallel", "grid-vector", "bitgrid", "tiled", "sparse", "hashlife"})
+    public String engine;
+
+    @Param({"100", "1000"})
+    public int span;
+
+    @Param({"0.1", "0.35"})
+    public double density;
+
+    @Param({"B3/S23", "B36/S23"})
+    public String rule;
+
+    private LifeEngine lifeEngine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        switch (this.engine) {
+            case "bitgrid": this.lifeEngine = new BitGrid(this.span); break;
+            case "tiled": this.lifeEngine = new TiledGrid(this.span); break;
+            case "sparse": this.lifeEngine = new SparseGrid(this.span); break;
+            case "hashlife": this.lifeEngine = new HashLife(this.span); break;
+            default: {
+                Grid grid = new Grid(this.span, Grid.GRID_TYPE_UNSHADED);
+                grid.setDoubleBuffered(true);
+                if ("grid-incremental".equals(this.engine)) grid.setStepMode(Grid.STEP_MODE_INCREMENTAL);
+                if ("grid-parallel".equals(this.engine)) grid.setStepMode(Grid.STEP_MODE_PARALLEL);
+                if ("grid-vector".equals(this.engine)) grid.setStepMode(Grid.STEP_MODE_VECTOR);
+                this.lifeEngine = grid;
+            }
+        }
+        this.lifeEngine.setRule(Rule.parse(this.rule));
+        BenchmarkSeeds.seed(this.lifeEngine, this.density);
+    }
+
+    @Benchmark
+    public LifeEngine getMutation() {
+        this.lifeEngine.getMutation();
+        return this.lifeEngine;
+    }
+}
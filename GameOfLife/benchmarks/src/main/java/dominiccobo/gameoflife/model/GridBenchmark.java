@@ -0,0 +1,83 @@
+package dominiccobo.gameoflife.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  <p>
+ *  Benchmarks the cost of a single Grid mutation, and of generating the color of
+ *  every cell of a Grid as the view does after each mutation.
+ *  </p>
+ *  <p>
+ *  The grid is seeded afresh before each measurement iteration, so that every
+ *  iteration starts from the same density rather than a settled board.
+ *  </p>
+ *  <p>
+ *  Run with JMH's -prof gc to see the allocation of each mutation, which double
+ *  buffered should read close to zero bytes per operation, gc.alloc.rate.norm, for a
+ *  serial mutation, against a new grid per mutation otherwise.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int span;
+
+    @Param({"0.1", "0.35"})
+    public double density;
+
+    @Param({"UNSHADED", "SHADED"})
+    public String gridType;
+
+    @Param({"false", "true"})
+    public boolean doubleBuffered;
+
+    private Grid grid;
+
+    private final Color baseColor = Color.decode("#006400");
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.grid = new Grid(this.span, BenchmarkSeeds.gridType(this.gridType));
+        this.grid.setDoubleBuffered(this.doubleBuffered);
+        BenchmarkSeeds.seed(this.grid, this.density);
+    }
+
+    @Benchmark
+    public Grid getMutation() {
+        this.grid.getMutation();
+        return this.grid;
+    }
+
+    @Benchmark
+    public void getCellColor(Blackhole blackhole) {
+        for (int rowIdx = 0; rowIdx < this.span; rowIdx++) {
+            for (int colIdx = 0; colIdx < this.span; colIdx++) {
+                blackhole.consume(this.grid.getCellColor(rowIdx, colIdx, this.baseColor));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package dominiccobo.gameoflife.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  <p>
+ *  Benchmarks a single GridIterator iteration with iteration saving enabled, that is
+ *  storing the current grid in the iteration history before mutating it.
+ *  </p>
+ *  <p>
+ *  The timeline, cycle detection and idling are disabled, so that only saving is measured
+ *  on top of the mutation and the publishing of its snapshot. The grid is unshaded, so no
+ *  shades are published, shaded mutations being covered by GridBenchmark.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridIteratorBenchmark {
+
+    @Param({"20", "100"})
+    public int span;
+
+    @Param({"0.1", "0.35"})
+    public double density;
+
+    private GridIterator gridIterator;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.gridIterator = new GridIterator();
+        this.gridIterator.enableSaving(true);
+        this.gridIterator.enableTimeline(false);
+        this.gridIterator.enableCycleDetection(false);
+        this.gridIterator.enableIdling(false);
+
+        int[][] state = new int[this.span][this.span];
+        for (int[] row : state) {
+            java.util.Arrays.fill(row, Grid.STATE_DEAD);
+        }
+        this.gridIterator.getCurrentGrid().setGridState(state);
+        BenchmarkSeeds.seed(this.gridIterator.getCurrentGrid(), this.density);
+        this.gridIterator.publish();
+    }
+
+    @Benchmark
+    public GridIterator iterate() {
+        this.gridIterator.iterate();
+        return this.gridIterator;
+    }
+}
@@ -0,0 +1,92 @@
+package dominiccobo.gameoflife.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *  <p>
+ *  Benchmarks writing a saved iteration history to a temporary file through Save, as a
+ *  text export, as an uncompressed binary save and as a compressed binary save.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"20", "100"})
+    public int span;
+
+    @Param({"0.1", "0.35"})
+    public double density;
+
+    @Param({"UNSHADED", "SHADED"})
+    public String gridType;
+
+    @Param({"100"})
+    public int iterations;
+
+    @Param({"TEXT", "BINARY", "BINARY_COMPRESSED"})
+    public String format;
+
+    private File file;
+
+    private Save save;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        GridIterator gridIterator = new GridIterator();
+        gridIterator.enableSaving(true);
+
+        int[][] state = new int[this.span][this.span];
+        for (int[] row : state) {
+            Arrays.fill(row, Grid.STATE_DEAD);
+        }
+        gridIterator.getCurrentGrid().setGridState(state);
+        gridIterator.getCurrentGrid().setType(BenchmarkSeeds.gridType(this.gridType));
+        BenchmarkSeeds.seed(gridIterator.getCurrentGrid(), this.density);
+
+        for (int i = 0; i < this.iterations; i++) {
+            gridIterator.iterate();
+        }
+
+        this.file = File.createTempFile("gameoflife-save", ".txt");
+        this.save = new Save(gridIterator);
+        this.save.setFile(this.file.getAbsolutePath());
+        this.save.setFormat("TEXT".equals(this.format) ? Save.SAVE_FORMAT_TEXT : Save.SAVE_FORMAT_BINARY);
+        this.save.setCompressed("BINARY_COMPRESSED".equals(this.format));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public void write() {
+        this.save.write();
+    }
+}
@@ -0,0 +1,95 @@
+package dominiccobo.gameoflife.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *  <p>
+ *  Checks that double buffered mutations allocate nothing once warmed up, measuring the
+ *  bytes allocated by the mutating thread around a run of mutations of each step mode, grid
+ *  type and change tracking setting, so that a change bringing back an allocation per
+ *  mutation fails the build rather than only showing under JMH's -prof gc.
+ *  </p>
+ *  <p>
+ *  Mutations in the STEP_MODE_PARALLEL step mode reuse their tasks, but the pool allocates a
+ *  small node whenever the mutating thread waits for them, so they are only held to
+ *  PARALLEL_WAIT_ALLOWANCE bytes each.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+class GridAllocationTest {
+
+    /**
+     * Constants detailing the n dimension of the grid, and the number of mutations computed
+     * before and whilst measuring.
+     */
+    private static final int SPAN = 100;
+    private static final int WARMUP_MUTATIONS = 2000;
+    private static final int MEASURED_MUTATIONS = 1000;
+
+    /**
+     * Constant detailing the bytes a parallel mutation may allocate whilst waiting for its
+     * tasks, well short of a single row of the grid.
+     */
+    private static final long PARALLEL_WAIT_ALLOWANCE = 64;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void serialMutationsAllocateNothing() {
+        for (int stepMode : new int[] {Grid.STEP_MODE_FULL, Grid.STEP_MODE_INCREMENTAL, Grid.STEP_MODE_VECTOR}) {
+            for (int gridType : new int[] {Grid.GRID_TYPE_UNSHADED, Grid.GRID_TYPE_SHADED}) {
+                for (boolean changeTracking : new boolean[] {false, true}) {
+                    assertEquals(0, measureMutations(stepMode, gridType, changeTracking),
+                            "step mode " + stepMode + ", grid type " + gridType + ", change tracking " + changeTracking);
+                }
+            }
+        }
+    }
+
+    @Test
+    void parallelMutationsAllocateNoTasks() {
+        for (int gridType : new int[] {Grid.GRID_TYPE_UNSHADED, Grid.GRID_TYPE_SHADED}) {
+            for (boolean changeTracking : new boolean[] {false, true}) {
+                long allocated = measureMutations(Grid.STEP_MODE_PARALLEL, gridType, changeTracking);
+                assertTrue(allocated <= PARALLEL_WAIT_ALLOWANCE * MEASURED_MUTATIONS,
+                        "grid type " + gridType + ", change tracking " + changeTracking + ": " + allocated + " bytes");
+            }
+        }
+    }
+
+    /**
+     * @return The bytes allocated by the current thread across MEASURED_MUTATIONS double
+     *         buffered mutations of a seeded grid, once warmed up.
+     */
+    private long measureMutations(int stepMode, int gridType, boolean changeTracking) {
+
+        Grid grid = new Grid(SPAN, gridType);
+        grid.setDoubleBuffered(true);
+        grid.setStepMode(stepMode);
+        grid.setChangeTracking(changeTracking);
+        grid.setParallelism(2);
+        BenchmarkSeeds.seed(grid, 0.35);
+
+        for (int i = 0; i < WARMUP_MUTATIONS; i++) {
+            grid.getMutation();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = this.threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_MUTATIONS; i++) {
+            grid.getMutation();
+        }
+        long allocated = this.threads.getThreadAllocatedBytes(threadId) - before;
+
+        // ends the threads of the parallel step mode.
+        grid.setStepMode(Grid.STEP_MODE_FULL);
+        return allocated;
+    }
+}
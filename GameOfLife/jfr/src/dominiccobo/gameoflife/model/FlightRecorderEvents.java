@@ -0,0 +1,213 @@
+package dominiccobo.gameoflife.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ *  <p>
+ *  Hooks recording the hot paths of the program as JDK Flight Recorder events, one event
+ *  type per hook, all under the Game Of Life category.
+ *  </p>
+ *  <p>
+ *  Events are only created whilst their type is enabled in a running recording, so nothing
+ *  is allocated otherwise. Each event is committed only if it meets the threshold of the
+ *  recording, so short events may be left out by the recording settings.
+ *  </p>
+ *  <p>
+ *  This class is compiled and run against the jdk.jfr module and is only ever loaded by
+ *  name from SimulationEvents, which does nothing if loading fails.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class FlightRecorderEvents extends SimulationEvents {
+
+    @Name("dominiccobo.gameoflife.GridStep")
+    @Label("Grid Step")
+    @Description("A single mutation of a grid")
+    @Category("Game Of Life")
+    static final class GridStepEvent extends Event {
+
+        @Label("Grid Dimensions")
+        int gridDimensions;
+
+        @Label("Step Mode")
+        int stepMode;
+
+        @Label("Population")
+        long population;
+
+        @Label("Births")
+        long births;
+
+        @Label("Deaths")
+        long deaths;
+    }
+
+    @Name("dominiccobo.gameoflife.Render")
+    @Label("Render")
+    @Description("A single render of the view from a generation snapshot")
+    @Category("Game Of Life")
+    static final class RenderEvent extends Event {
+
+        @Label("Generation")
+        long generation;
+
+        @Label("Grid Dimensions")
+        int gridDimensions;
+
+        @Label("Repainted Cells")
+        int repaintedCells;
+
+        @Label("Full Repaint")
+        boolean fullRepaint;
+    }
+
+    @Name("dominiccobo.gameoflife.HistoryAppend")
+    @Label("History Append")
+    @Description("A single append of a generation to the iteration history")
+    @Category("Game Of Life")
+    static final class HistoryAppendEvent extends Event {
+
+        @Label("Generation")
+        long generation;
+
+        @Label("Grid Dimensions")
+        int gridDimensions;
+
+        @Label("Held Iterations")
+        int heldIterations;
+
+        @Label("Memory Usage")
+        @DataAmount
+        long memoryUsage;
+    }
+
+    @Name("dominiccobo.gameoflife.Save")
+    @Label("Save")
+    @Description("A single save of the iteration history to a file")
+    @Category("Game Of Life")
+    static final class SaveEvent extends Event {
+
+        @Label("File")
+        String file;
+
+        @Label("Format")
+        int format;
+
+        @Label("Iterations")
+        int iterations;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Written")
+        boolean written;
+    }
+
+    /**
+     * Constants referencing each event type, checked before creating an event.
+     */
+    private static final EventType GRID_STEP = EventType.getEventType(GridStepEvent.class);
+    private static final EventType RENDER = EventType.getEventType(RenderEvent.class);
+    private static final EventType HISTORY_APPEND = EventType.getEventType(HistoryAppendEvent.class);
+    private static final EventType SAVE = EventType.getEventType(SaveEvent.class);
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public Object beginStep() {
+        if (!GRID_STEP.isEnabled()) return null;
+        GridStepEvent event = new GridStepEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitStep(Object event, int gridDimensions, int stepMode, long population, long births, long deaths) {
+        GridStepEvent step = (GridStepEvent) event;
+        step.end();
+        if (step.shouldCommit()) {
+            step.gridDimensions = gridDimensions;
+            step.stepMode = stepMode;
+            step.population = population;
+            step.births = births;
+            step.deaths = deaths;
+            step.commit();
+        }
+    }
+
+    @Override
+    public Object beginRender() {
+        if (!RENDER.isEnabled()) return null;
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitRender(Object event, long generation, int gridDimensions, int repaintedCells, boolean fullRepaint) {
+        RenderEvent render = (RenderEvent) event;
+        render.end();
+        if (render.shouldCommit()) {
+            render.generation = generation;
+            render.gridDimensions = gridDimensions;
+            render.repaintedCells = repaintedCells;
+            render.fullRepaint = fullRepaint;
+            render.commit();
+        }
+    }
+
+    @Override
+    public Object beginHistoryAppend() {
+        if (!HISTORY_APPEND.isEnabled()) return null;
+        HistoryAppendEvent event = new HistoryAppendEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitHistoryAppend(Object event, long generation, int gridDimensions, int heldIterations, long memoryUsage) {
+        HistoryAppendEvent append = (HistoryAppendEvent) event;
+        append.end();
+        if (append.shouldCommit()) {
+            append.generation = generation;
+            append.gridDimensions = gridDimensions;
+            append.heldIterations = heldIterations;
+            append.memoryUsage = memoryUsage;
+            append.commit();
+        }
+    }
+
+    @Override
+    public Object beginSave() {
+        if (!SAVE.isEnabled()) return null;
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commitSave(Object event, String file, int format, int iterations, long bytes, boolean written) {
+        SaveEvent save = (SaveEvent) event;
+        save.end();
+        if (save.shouldCommit()) {
+            save.file = file;
+            save.format = format;
+            save.iterations = iterations;
+            save.bytes = bytes;
+            save.written = written;
+            save.commit();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package dominiccobo.gameoflife.activity;
+
+import dominiccobo.gameoflife.model.BitFrames;
+import dominiccobo.gameoflife.model.BitGrid;
+import dominiccobo.gameoflife.model.Grid;
+import dominiccobo.gameoflife.model.HashLife;
+import dominiccobo.gameoflife.model.LifeEngine;
+import dominiccobo.gameoflife.model.PatternLoader;
+import dominiccobo.gameoflife.model.Rule;
+import dominiccobo.gameoflife.model.SimulationStatistics;
+import dominiccobo.gameoflife.model.SnapshotWriter;
+import dominiccobo.gameoflife.model.SparseGrid;
+import dominiccobo.gameoflife.model.TiledGrid;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.ResourceBundle;
+
+/**
+ *  <p>
+ *  Headless program entry point, running a simulation as fast as the chosen engine
+ *  allows without creating any view, then reporting its throughput and final state.
+ *  </p>
+ *  <p>
+ *  Options are given as pairs, for instance:
+ *  </p>
+ *  <pre>
+ *  --engine grid|bitgrid|hashlife|sparse|tiled   (default bitgrid)
+ *  --span n                                      (default 100)
+ *  --generations n                               (default 1000)
+ *  --seed file.rle|.cells|.lif | --density 0-1   (default density 0.25)
+ *  --random-seed n                               (default 0)
+ *  --rule B3/S23                                 (default B3/S23, any Life-like rule, see Rule)
+ *  --step-mode full|incremental|parallel|vector  (grid engine only)
+ *  --threads n                                   (grid engine parallel step mode only)
+ *  --step-log k                                  (hashlife engine only, 2^k generations per step, k from 0 to 32)
+ *  --output file|-                               (optional binary stream, - for stdout)
+ *  --snapshot file.golp                          (optional snapshot file, see SnapshotWriter)
+ *  </pre>
+ *  <p>
+ *  The binary stream starts with the int STREAM_MAGIC, the int STREAM_VERSION and the int
+ *  span, followed by one record per generation, the initial one included: the long
+ *  generation, the long population and the bit packed frame of the n by n window as
+ *  described by BitFrames.
+ *  </p>
+ *  <p>
+ *  The statistics of each generation are registered as an MBean, see SimulationStatistics,
+ *  under the name "headless", so that long runs may be monitored over JMX.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class HeadlessMain {
+
+    /**
+     * Constant detailing the first int of a binary stream, "GOLF" in ASCII.
+     */
+    public static final int STREAM_MAGIC = 0x474F4C46;
+
+    /**
+     * Constant detailing the version of the binary stream layout.
+     */
+    public static final int STREAM_VERSION = 1;
+
+    /**
+     * Loads resource bundle containing all output strings.
+     */
+    private static final ResourceBundle outputStr = ResourceBundle.getBundle("dominiccobo.gameoflife.res.output", Locale.UK);
+
+    /**
+     * Headless program entry point for the JVM.
+     * @param args Option name and value pairs, see the class description.
+     */
+    public static void main(String[] args) {
+
+        Map<String, String> options = parseOptions(args);
+        if (options == null) {
+            System.err.println(outputStr.getString("headless_usage"));
+            System.exit(1);
+            return;
+        }
+
+        String engineName = options.getOrDefault("engine", "bitgrid");
+        int span;
+        long generations;
+        double density;
+        long randomSeed;
+        LifeEngine engine;
+        try {
+            span = Integer.parseInt(options.getOrDefault("span", "100"));
+            generations = Long.parseLong(options.getOrDefault("generations", "1000"));
+            density = Double.parseDouble(options.getOrDefault("density", "0.25"));
+            randomSeed = Long.parseLong(options.getOrDefault("random-seed", "0"));
+
+            // NaN densities fail the range check as well.
+            boolean inRange = span > 0 && generations >= 0 && density >= 0 && density <= 1;
+            engine = inRange ? createEngine(engineName, span, options) : null;
+        }
+        catch (NumberFormatException $e) {
+            System.err.println(outputStr.getString("headless_usage"));
+            System.exit(1);
+            return;
+        }
+        if (engine == null) {
+            System.err.println(outputStr.getString("headless_usage"));
+            System.exit(1);
+            return;
+        }
+
+        try {
+            engine.setRule(Rule.parse(options.getOrDefault("rule", Rule.CONWAY.toString())));
+        }
+        catch (IllegalArgumentException $e) {
+            System.err.println($e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        try {
+            if (options.containsKey("seed")) {
+                loadSeed(engine, options.get("seed"));
+            }
+            else {
+                seedRandomly(engine, density, randomSeed);
+            }
+        }
+        catch (IOException $e) {
+            System.err.println($e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        String output = options.get("output");
+        DataOutputStream stream = null;
+        SnapshotWriter snapshot = null;
+        long[] frame = null;
+
+        // statistics go to stderr whenever stdout carries the binary stream.
+        java.io.PrintStream report = "-".equals(output) ? System.err : System.out;
+
+        try {
+            if (output != null) {
+                OutputStream target = "-".equals(output) ? System.out : new FileOutputStream(output);
+                stream = new DataOutputStream(new BufferedOutputStream(target, 1 << 16));
+                stream.writeInt(STREAM_MAGIC);
+                stream.writeInt(STREAM_VERSION);
+                stream.writeInt(span);
+                frame = new long[BitFrames.wordCount(span)];
+                writeFrame(stream, engine, frame, 0);
+            }
+            if (options.containsKey("snapshot")) {
+                snapshot = new SnapshotWriter(options.get("snapshot"), span);
+                snapshot.append(0, engine);
+            }
+
+            SimulationStatistics statistics = new SimulationStatistics();
+            statistics.register("headless");
+
+            long generationsPerStep = (engine instanceof HashLife) ? 1L << ((HashLife) engine).getStepLog() : 1;
+            long generation = 0;
+            long startTime = System.nanoTime();
+
+            while (generation < generations) {
+                long stepStart = System.nanoTime();
+                engine.getMutation();
+                long stepNanos = System.nanoTime() - stepStart;
+                generation += generationsPerStep;
+
+                // only the grid engine counts its births and deaths whilst stepping.
+                if (engine instanceof Grid) {
+                    Grid grid = (Grid) engine;
+                    statistics.record(generation, grid.getPopulation(), grid.getBirths(), grid.getDeaths(), stepNanos);
+                }
+                else {
+                    statistics.record(generation, engine.getPopulation(), -1, -1, stepNanos);
+                }
+                if (stream != null) {
+                    writeFrame(stream, engine, frame, generation);
+                }
+                if (snapshot != null) {
+                    snapshot.append(generation, engine);
+                }
+            }
+            if (stream != null) {
+                stream.flush();
+            }
+            if (snapshot != null) {
+                snapshot.close();
+                snapshot = null;
+            }
+
+            double elapsed = Math.max(System.nanoTime() - startTime, 1) / 1e9;
+
+            report.println(outputStr.getString("headless_engine") + engineName);
+            report.println(outputStr.getString("headless_rule") + engine.getRule());
+            report.println(outputStr.getString("headless_generations") + generation);
+            report.println(outputStr.getString("headless_elapsed") + String.format(Locale.UK, "%.3f", elapsed));
+            report.println(outputStr.getString("headless_rate_generations") + String.format(Locale.UK, "%.1f", generation / elapsed));
+            report.println(outputStr.getString("headless_rate_cells") + String.format(Locale.UK, "%.4g", (double) span * span * generation / elapsed));
+            report.println(outputStr.getString("headless_population") + engine.getPopulation());
+        }
+        catch (IOException $e) {
+            System.err.println($e.getMessage());
+            System.exit(1);
+        }
+        finally {
+            if (snapshot != null) {
+                try {
+                    snapshot.close();
+                }
+                catch (IOException $e) {
+                    System.err.println($e.getMessage());
+                }
+            }
+            if (stream != null) {
+                try {
+                    stream.close();
+                }
+                catch (IOException $e) {
+                    System.err.println($e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Reads the command line arguments as "--name value" pairs.
+     * </p>
+     * @param args The command line arguments.
+     * @return The options by name, or null if the arguments are malformed.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+
+        if (args.length % 2 != 0) return null;
+
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--")) return null;
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * <p>
+     * Creates the engine of the given name, applying any engine specific options.
+     * </p>
+     * @param engineName The name of the engine.
+     * @param span The n dimension of the grid, or of the window of unbounded engines.
+     * @param options The parsed command line options.
+     * @return The engine, or null if the name or step mode is not recognised, or the number of
+     *         threads or step log is out of range.
+     * @throws NumberFormatException If the number of threads or step log is not a number.
+     */
+    private static LifeEngine createEngine(String engineName, int span, Map<String, String> options) {
+
+        switch (engineName) {
+            case "grid": {
+                Grid grid = new Grid(span, Grid.GRID_TYPE_UNSHADED);
+                grid.setDoubleBuffered(true);
+                switch (options.getOrDefault("step-mode", "full")) {
+                    case "full": grid.setStepMode(Grid.STEP_MODE_FULL); break;
+                    case "incremental": grid.setStepMode(Grid.STEP_MODE_INCREMENTAL); break;
+                    case "parallel": grid.setStepMode(Grid.STEP_MODE_PARALLEL); break;
+                    case "vector": grid.setStepMode(Grid.STEP_MODE_VECTOR); break;
+                    default: return null;
+                }
+                if (options.containsKey("threads")) {
+                    int threads = Integer.parseInt(options.get("threads"));
+                    if (threads < 1) return null;
+                    grid.setParallelism(threads);
+                }
+                return grid;
+            }
+            case "bitgrid": {
+                return new BitGrid(span);
+            }
+            case "hashlife": {
+                int stepLog = Integer.parseInt(options.getOrDefault("step-log", "0"));
+                if (stepLog < 0 || stepLog > HashLife.MAXIMUM_STEP_LOG) return null;
+                HashLife hashLife = new HashLife(span);
+                hashLife.setStepLog(stepLog);
+                return hashLife;
+            }
+            case "sparse": {
+                return new SparseGrid(span);
+            }
+            case "tiled": {
+                return new TiledGrid(span);
+            }
+            default: {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Loads a pattern in any format read by PatternLoader onto the centre of the engine's grid.
+     * </p>
+     * @param engine The engine to seed.
+     * @param fname The file name + directory of the pattern.
+     * @throws IOException If the pattern can not be read.
+     */
+    private static void loadSeed(LifeEngine engine, String fname) throws IOException {
+
+        PatternLoader loader = new PatternLoader();
+        loader.setFile(fname);
+        loader.read();
+        loader.place(engine);
+    }
+
+    /**
+     * <p>
+     * Brings each cell of the engine's grid to life with the given probability.
+     * </p>
+     * @param engine The engine to seed.
+     * @param density The probability of each cell being alive.
+     * @param randomSeed The seed of the random number generator, for repeatable runs.
+     */
+    private static void seedRandomly(LifeEngine engine, double density, long randomSeed) {
+
+        Random random = new Random(randomSeed);
+        int span = engine.getGridDimensions();
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for (int colIdx = 0; colIdx < span; colIdx++) {
+                if (random.nextDouble() < density) {
+                    engine.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes a single generation record to the binary stream.
+     * </p>
+     * @throws IOException If the stream can not be written to.
+     */
+    private static void writeFrame(DataOutputStream stream, LifeEngine engine, long[] frame, long generation) throws IOException {
+
+        BitFrames.pack(engine, frame);
+        stream.writeLong(generation);
+        stream.writeLong(engine.getPopulation());
+        for (long word : frame) {
+            stream.writeLong(word);
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package dominiccobo.gameoflife.controller;
 
+import dominiccobo.gameoflife.model.BitFrames;
+import dominiccobo.gameoflife.model.BitGrid;
+import dominiccobo.gameoflife.model.GenerationSnapshot;
 import dominiccobo.gameoflife.model.Grid;
 import dominiccobo.gameoflife.model.GridIterator;
+import dominiccobo.gameoflife.model.LifeEngine;
+import dominiccobo.gameoflife.model.PatternLoader;
+import dominiccobo.gameoflife.model.Rule;
 import dominiccobo.gameoflife.model.Save;
+import dominiccobo.gameoflife.model.SimulationEvents;
+import dominiccobo.gameoflife.model.SnapshotReader;
+import dominiccobo.gameoflife.model.Timeline;
 import dominiccobo.gameoflife.view.AboutView;
+import dominiccobo.gameoflife.view.CellPalette;
+import dominiccobo.gameoflife.view.GridCanvas;
 import dominiccobo.gameoflife.view.MainView;
 
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * <p>
@@ -33,7 +52,11 @@ import java.util.Observer;
  * </p>
  * <p>
  * The model extends the observable class and is observed for any changes by this
- * class, allowing any necessary updates to be made to the GUI.
+ * class, allowing any necessary updates to be made to the GUI. New generations are
+ * not observed but picked up by a render timer at the display refresh rate, so that
+ * only the latest generation is drawn however fast they are computed. The view is only
+ * ever updated on the event dispatch thread, from the latest snapshot published by the
+ * model, without locking it.
  * </p>
  * <p>
  *  It could be considered that this is a loose implementation of the extension of the
@@ -44,6 +67,24 @@ import java.util.Observer;
  */
 public class Controller implements ActionListener, ChangeListener, Observer {
 
+    /**
+     * Constant detailing the refresh rate rendered at when that of the display is unknown,
+     * in frames per second.
+     */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    /**
+     * Constant detailing the number of rows in each band of the grid painted alone when only
+     * some cells have changed, so that changes far apart are not repainted as one region.
+     */
+    private static final int REPAINT_BAND_ROWS = 16;
+
+    /**
+     * Constant detailing how often a save in progress checks whether it has been cancelled,
+     * in milliseconds, as the progress may not change for some time on large grids.
+     */
+    private static final int SAVE_CANCEL_POLL_MILLIS = 100;
+
     /**
      * Instance variable detailing the model MainView object instance to which
      * the Controller will be applying itself to.
@@ -55,6 +96,40 @@ public class Controller implements ActionListener, ChangeListener, Observer {
      */
     private GridIterator myIterator;
 
+    /**
+     * Instance variable referencing the snapshot last drawn to the view, or null if the next
+     * view update has to repaint every cell. Released once drawn, so only its sequence,
+     * dimensions and counts are read afterwards.
+     */
+    private GenerationSnapshot renderedSnapshot;
+
+    /**
+     * Instance variables holding the bit packed state of each cell last drawn, see BitFrames,
+     * as snapshots are recycled once released, and that of the latest snapshot whilst drawing,
+     * swapped once it is drawn.
+     */
+    private long[] renderedFrame = new long[0];
+    private long[] latestFrame = new long[0];
+
+    /**
+     * Instance variables detailing the first and last column changed in each band of
+     * REPAINT_BAND_ROWS rows whilst drawing, the last being -1 for a band with no changes.
+     */
+    private int[] bandFromCol = new int[0];
+    private int[] bandToCol = new int[0];
+
+    /**
+     * Instance variable detailing whether a view update has been posted to the event dispatch
+     * thread and not yet run, so that any further notifications are coalesced into it.
+     */
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
+    /**
+     * Instance variable referencing the render timer, which draws the latest generation once
+     * per display refresh.
+     */
+    private Timer renderTimer;
+
     /**
      * <p>
      *     Constructor for the controller class, initializing the GridIterator and
@@ -66,7 +141,29 @@ public class Controller implements ActionListener, ChangeListener, Observer {
         this.view = view;
 
         this.myIterator = new GridIterator();
+        // mutations then cost, and list changes, in proportion to the cells which change.
+        this.myIterator.getCurrentGrid().setStepMode(Grid.STEP_MODE_INCREMENTAL);
+        this.myIterator.getCurrentGrid().setChangeTracking(true);
         this.myIterator.addObserver(this);
+        this.myIterator.getStatistics().register("GridIterator");
+
+        this.renderTimer = new Timer(1000 / getRefreshRate(), this);
+        this.renderTimer.setActionCommand("renderTimer");
+        this.renderTimer.setCoalesce(true);
+    }
+
+    /**
+     * @return The refresh rate of the default screen, or DEFAULT_REFRESH_RATE if unknown.
+     */
+    private static int getRefreshRate() {
+        try {
+            int refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+            return (refreshRate == DisplayMode.REFRESH_RATE_UNKNOWN) ? DEFAULT_REFRESH_RATE : refreshRate;
+        }
+        catch (HeadlessException $e) {
+            return DEFAULT_REFRESH_RATE;
+        }
     }
 
     public void init() {
@@ -77,12 +174,27 @@ public class Controller implements ActionListener, ChangeListener, Observer {
         this.view.getSldrIterationSpeed().setValue((int) GridIterator.MAXIMUM_FREQUENCY);
         this.view.getSldrIterationSpeed().setMinimum((int) GridIterator.MINIMUM_FREQUENCY);
         this.view.getSldrIterationSpeed().setMaximum((int) GridIterator.MAXIMUM_FREQUENCY);
+
+        this.renderTimer.start();
+    }
+
+    /**
+     * <p>
+     *     Action handling method triggered by the render timer. Draws the latest
+     *     snapshot, if any has been published since the last was drawn.
+     * </p>
+     */
+    private void handleRenderTimer() {
+        if(this.renderedSnapshot == null || !this.isRendered()) {
+            this.updateView();
+        }
     }
 
     /**
      * <p>
      *     Action handling method triggered by the SaveAs option being selected from
-     *     the File Menu. Initiates the save as instruction sequence..
+     *     the File Menu. Initiates the save as instruction sequence, saving on a
+     *     background thread whilst a progress monitor allows it to be cancelled.
      * </p>
      */
     private void handleSaveAs() {
@@ -90,12 +202,244 @@ public class Controller implements ActionListener, ChangeListener, Observer {
         JFileChooser saveAsDialog = new JFileChooser();
         saveAsDialog.setDialogTitle("");
 
+        FileNameExtensionFilter binaryFilter = new FileNameExtensionFilter(this.view.getLanguageString("save_filter_binary"), "gols");
+        FileNameExtensionFilter textFilter = new FileNameExtensionFilter(this.view.getLanguageString("save_filter_text"), "txt");
+        saveAsDialog.setAcceptAllFileFilterUsed(false);
+        saveAsDialog.addChoosableFileFilter(binaryFilter);
+        saveAsDialog.addChoosableFileFilter(textFilter);
+        saveAsDialog.setFileFilter(binaryFilter);
+
         int userSelection = saveAsDialog.showSaveDialog(view.getFrame());
         if (userSelection == JFileChooser.APPROVE_OPTION) {
             File fileToSave = saveAsDialog.getSelectedFile();
             Save saver = new Save(this.myIterator);
             saver.setFile(fileToSave.getAbsolutePath());
-            saver.write();
+            saver.setFormat(saveAsDialog.getFileFilter() == textFilter ? Save.SAVE_FORMAT_TEXT : Save.SAVE_FORMAT_BINARY);
+
+            ProgressMonitor monitor = new ProgressMonitor(this.view.getFrame(),
+                    this.view.getLanguageString("save_progress"), null, 0, 100);
+
+            // polled rather than checked on each change of progress, which may be seconds apart.
+            Timer cancelTimer = new Timer(SAVE_CANCEL_POLL_MILLIS, evt -> {
+                if (monitor.isCanceled()) {
+                    saver.cancel();
+                }
+            });
+
+            SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+                @Override
+                protected Boolean doInBackground() {
+                    saver.setProgressListener(progress -> setProgress(progress));
+                    return saver.write();
+                }
+
+                @Override
+                protected void done() {
+                    cancelTimer.stop();
+                    monitor.close();
+
+                    boolean saved;
+                    try {
+                        saved = this.get();
+                    }
+                    catch (InterruptedException | ExecutionException $e) {
+                        System.err.println($e.getMessage());
+                        saved = false;
+                    }
+                    if (!saved && !saver.isCancelled()) {
+                        JOptionPane.showMessageDialog(view.getFrame(), view.getLanguageString("save_failed"),
+                                null, JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            worker.addPropertyChangeListener(evt -> {
+                if ("progress".equals(evt.getPropertyName())) {
+                    monitor.setProgress((Integer) evt.getNewValue());
+                }
+            });
+            cancelTimer.start();
+            worker.execute();
+        }
+    }
+
+    /**
+     * <p>
+     *     Action handling method triggered by the Open Pattern option being selected
+     *     from the File Menu. Stops any run, clears the grid, growing it to fit the
+     *     pattern where possible, and places the pattern at its centre.
+     * </p>
+     */
+    private void handleOpen() {
+
+        JFileChooser openDialog = new JFileChooser();
+        openDialog.addChoosableFileFilter(new FileNameExtensionFilter(this.view.getLanguageString("open_filter_snapshots"), "golp"));
+        openDialog.setFileFilter(new FileNameExtensionFilter(this.view.getLanguageString("open_filter_patterns"),
+                "rle", "cells", "lif", "life"));
+
+        if (openDialog.showOpenDialog(view.getFrame()) == JFileChooser.APPROVE_OPTION) {
+            if (openDialog.getSelectedFile().getName().toLowerCase(Locale.UK).endsWith(".golp")) {
+                this.handleOpenSnapshot(openDialog.getSelectedFile().getAbsolutePath());
+                return;
+            }
+
+            PatternLoader loader = new PatternLoader();
+            loader.setFile(openDialog.getSelectedFile().getAbsolutePath());
+            try {
+                loader.read();
+            }
+            catch (IOException $e) {
+                System.err.println($e.getMessage());
+                JOptionPane.showMessageDialog(this.view.getFrame(), this.view.getLanguageString("open_failed"));
+                return;
+            }
+
+            if (this.myIterator.getState() == GridIterator.PROGRAM_RUNNING) {
+                this.handleStopBtn();
+            }
+
+            // leave a margin of a quarter of the pattern around it, within the grid limits.
+            int extent = Math.max(loader.getPatternWidth(), loader.getPatternHeight());
+            int span = Math.min(Math.max(this.myIterator.getCurrentGrid().getGridDimensions(), extent + extent / 2),
+                    Grid.GRID_MAXIMUM_SPAN);
+            this.view.getSldrGridSize().setValue(span);
+
+            // the pattern is placed off the grid, which is then loaded with it as a whole.
+            BitGrid pattern = new BitGrid(span);
+            loader.place(pattern);
+            this.loadGrid(pattern);
+        }
+    }
+
+    /**
+     * <p>
+     *     Opens a snapshot file, asking for the generation to show and loading the
+     *     latest frame up to it onto the grid. Only the index table and the chosen
+     *     frame are read from the file.
+     * </p>
+     * @param fname The file name + directory of the snapshot file.
+     */
+    private void handleOpenSnapshot(String fname) {
+
+        try (SnapshotReader reader = new SnapshotReader(fname)) {
+
+            int span = reader.getGridDimensions();
+            if (reader.getFrameCount() == 0 || span < Grid.GRID_MINIMUM_SPAN || span > Grid.GRID_MAXIMUM_SPAN) {
+                JOptionPane.showMessageDialog(this.view.getFrame(), this.view.getLanguageString("open_failed"));
+                return;
+            }
+
+            long first = reader.getGeneration(0);
+            long last = reader.getGeneration(reader.getFrameCount() - 1);
+            String answer = JOptionPane.showInputDialog(this.view.getFrame(),
+                    this.view.getLanguageString("open_snapshot_generation") + first + " - " + last, last);
+            if (answer == null) return;
+
+            long frameIdx;
+            try {
+                frameIdx = reader.findFrame(Long.parseLong(answer.trim()));
+            }
+            catch (NumberFormatException $e) {
+                frameIdx = -1;
+            }
+            if (frameIdx < 0) {
+                JOptionPane.showMessageDialog(this.view.getFrame(), this.view.getLanguageString("open_failed"));
+                return;
+            }
+
+            if (this.myIterator.getState() == GridIterator.PROGRAM_RUNNING) {
+                this.handleStopBtn();
+            }
+            this.view.getSldrGridSize().setValue(span);
+
+            BitGrid frame = new BitGrid(span);
+            reader.loadFrame(frameIdx, frame);
+            this.loadGrid(frame);
+        }
+        catch (IOException $e) {
+            System.err.println($e.getMessage());
+            JOptionPane.showMessageDialog(this.view.getFrame(), this.view.getLanguageString("open_failed"));
+        }
+    }
+
+    /**
+     * <p>
+     *     Loads the state of each cell of an engine onto the grid, resized to its span,
+     *     clearing the saved content, then updates the view.
+     * </p>
+     * @param engine The engine to load, not to be changed afterwards.
+     */
+    private void loadGrid(LifeEngine engine) {
+
+        this.view.updateGridSize(engine.getGridDimensions());
+        this.myIterator.queueLoad(engine);
+        this.renderedSnapshot = null;
+        this.updateView();
+    }
+
+    /**
+     * <p>
+     *     Action handling method triggered by the Step Back option being selected
+     *     from the Edit Menu. Stops the program and moves the grid back by one
+     *     recorded generation.
+     * </p>
+     */
+    private void handleStepBack() {
+
+        if (this.myIterator.getState() == GridIterator.PROGRAM_RUNNING) {
+            this.handleStopBtn();
+        }
+        this.myIterator.rewind();
+    }
+
+    /**
+     * <p>
+     *     Action handling method triggered by the Go To Generation option being
+     *     selected from the Edit Menu. Stops the program and moves the grid to the
+     *     generation asked for, any generation once a cycle has been found and
+     *     otherwise the latest recorded generation up to it.
+     * </p>
+     */
+    private void handleGoTo() {
+
+        if (this.myIterator.getState() == GridIterator.PROGRAM_RUNNING) {
+            this.handleStopBtn();
+        }
+
+        Timeline timeline = this.myIterator.getTimeline();
+        if (timeline.getKeyframeCount() == 0) return;
+
+        String answer = JOptionPane.showInputDialog(this.view.getFrame(),
+                this.view.getLanguageString("go_to_generation") + timeline.getFirstGeneration()
+                        + " - " + timeline.getLastGeneration(), this.myIterator.getIteratorCount());
+        if (answer == null) return;
+
+        try {
+            this.myIterator.jumpTo(Long.parseLong(answer.trim()));
+        }
+        catch (NumberFormatException $e) {
+            System.err.println($e.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     *     Action handling method triggered by the Set Rule option being selected
+     *     from the Edit Menu. Asks for a rule in B/S notation, which the grid
+     *     follows from the next generation on, whether running or not.
+     * </p>
+     */
+    private void handleRule() {
+
+        String answer = JOptionPane.showInputDialog(this.view.getFrame(),
+                this.view.getLanguageString("rule_prompt"), this.myIterator.getRule());
+        if (answer == null) return;
+
+        try {
+            this.myIterator.setRule(Rule.parse(answer));
+        }
+        catch (IllegalArgumentException $e) {
+            System.err.println($e.getMessage());
+            JOptionPane.showMessageDialog(this.view.getFrame(), this.view.getLanguageString("rule_invalid"));
         }
     }
 
@@ -110,12 +454,8 @@ public class Controller implements ActionListener, ChangeListener, Observer {
 
         int value = this.myIterator.getCurrentGrid().getGridDimensions();
         this.view.updateGridSize(value);
-        int[][] clearArray = new int[value][value];
-        for(int i = 0; i < clearArray.length; i++) {
-            Arrays.fill(clearArray[i], (byte) Grid.STATE_DEAD);
-        }
-        this.myIterator.getCurrentGrid().setGridState(clearArray);
-        this.myIterator.getPreviousIterations().clear();
+        this.myIterator.queueClear(value);
+        this.renderedSnapshot = null;
     }
 
     /**
@@ -132,28 +472,19 @@ public class Controller implements ActionListener, ChangeListener, Observer {
     /**
      * <p>
      *     Action handling method triggered by clicking a cell to enable
-     *     disable it. Clicking reverses current state.
+     *     disable it. Clicking reverses current state, the edit being queued
+     *     so that a running simulation applies it between generations.
      * </p>
      * @param e Action Event to be passed to cell handler for use.
      */
     private void handleCell(ActionEvent e) {
 
-        for(int i = 0; i < this.view.getGrids().length; i++) {
-            for(int j = 0; j < this.view.getGrids().length; j++) {
-
-                if(this.view.getGrids()[i][j] == e.getSource()) {
+        int i = this.view.getGrid().getSelectedRow();
+        int j = this.view.getGrid().getSelectedCol();
 
-                    this.myIterator.getCurrentGrid().toggleState(i, j);
-
-                    if(this.myIterator.getCurrentGrid().isCellAlive(i, j)) {
-                        this.view.getGrids()[i][j].setBackground(this.myIterator.getCurrentGrid().getCellColor(i, j, this.view.getColors("color_cell_alive")));
-                    }
-                    else {
-                        view.getGrids()[i][j].setBackground(this.myIterator.getCurrentGrid().getCellColor(i, j, this.view.getColors("color_cell_dead")));
-                    }
-                    break;
-                }
-            }
+        this.myIterator.queueEdit(i, j, GridIterator.EDIT_TOGGLE);
+        if(!this.isRendered()) {
+            this.updateView();
         }
     }
 
@@ -217,11 +548,12 @@ public class Controller implements ActionListener, ChangeListener, Observer {
      */
     private void handleCellShading() {
         if(this.view.getChkCellShading().isSelected()) {
-            this.myIterator.getCurrentGrid().setType(Grid.GRID_TYPE_SHADED);
+            this.myIterator.queueGridType(Grid.GRID_TYPE_SHADED);
         }
         else {
-            this.myIterator.getCurrentGrid().setType(Grid.GRID_TYPE_UNSHADED);
+            this.myIterator.queueGridType(Grid.GRID_TYPE_UNSHADED);
         }
+        this.renderedSnapshot = null;
     }
 
     /**
@@ -237,12 +569,8 @@ public class Controller implements ActionListener, ChangeListener, Observer {
         this.view.updateGridSize(value);
         this.view.getPbarLevelOfLife().setMinimum(0);
         this.view.getPbarLevelOfLife().setMaximum(value*value);
-        int[][] clearArray = new int[value][value];
-        for(int i = 0; i < clearArray.length; i++) {
-            Arrays.fill(clearArray[i], Grid.STATE_DEAD);
-        }
-        this.myIterator.getCurrentGrid().setGridState(clearArray);
-        this.myIterator.getPreviousIterations().clear();
+        this.myIterator.queueClear(value);
+        this.renderedSnapshot = null;
     }
 
     /**
@@ -257,36 +585,110 @@ public class Controller implements ActionListener, ChangeListener, Observer {
         this.myIterator.setIteratorFrequency(value);
     }
 
+    /**
+     * @return Boolean evaluation of whether the latest snapshot is the one last drawn.
+     */
+    private boolean isRendered() {
+        GenerationSnapshot snapshot = this.myIterator.acquireSnapshot();
+        boolean rendered = snapshot == this.renderedSnapshot;
+        snapshot.release();
+        return rendered;
+    }
+
     /**
      * <p>
      *     Action handling method triggered by the Observer pattern noticing an update
-     *     to data held within the GridIterator instance, then appropriately notifies the
-     *     view of said change, updating all view contents.
+     *     to data held within the GridIterator instance, or by the render timer noticing
+     *     a new snapshot, then appropriately notifies the view of said change, updating
+     *     all view contents from the latest snapshot. Only called on the event dispatch thread.
      * </p>
      */
     private void updateView() {
 
-        int aliveCount = 0;
-        int deadCount = 0;
+        Object event = SimulationEvents.get().beginRender();
+        GenerationSnapshot snapshot = this.myIterator.acquireSnapshot();
+        GenerationSnapshot rendered = this.renderedSnapshot;
+        GridCanvas canvas = this.view.getGrid();
+
+        // cells are written as precomputed palette indexes, allocating nothing per cell.
+        CellPalette palette = this.view.getCellPalette();
 
-        for(int i = 0; i < this.view.getGrids().length; i++) {
-            for(int j = 0; j < this.view.getGrids().length; j++) {
+        int span = Math.min(snapshot.getGridDimensions(), canvas.getGridDimensions());
+        int repaintedCells = 0;
 
-                if(this.myIterator.getCurrentGrid().isCellAlive(i, j)) {
-                    aliveCount++;
-                    this.view.getGrids()[i][j].setBackground(this.myIterator.getCurrentGrid().getCellColor(i, j, this.view.getColors("color_cell_alive")));
+        int words = BitFrames.wordCount(snapshot.getGridDimensions());
+        if(this.latestFrame.length < words) {
+            this.latestFrame = new long[words];
+            this.renderedFrame = new long[words];
+        }
+        snapshot.copyFrame(this.latestFrame);
+
+        // every cell is repainted after a change of dimensions, and whilst shading as shaded cells
+        // change color with age.
+        boolean fullRepaint = rendered == null || snapshot.isShaded() || rendered.isShaded()
+                || span != snapshot.getGridDimensions() || span != rendered.getGridDimensions();
+        if(fullRepaint) {
+
+            for(int i = 0; i < span; i++) {
+                for(int j = 0; j < span; j++) {
+                    canvas.setCellIndex(i, j, palette.getIndex(snapshot.isCellAlive(i, j), snapshot.getCellShade(i, j)));
+                }
+            }
+            canvas.repaint();
+            repaintedCells = span * span;
+        }
+        else {
+
+            int bands = (span + REPAINT_BAND_ROWS - 1) / REPAINT_BAND_ROWS;
+            if(this.bandToCol.length < bands) {
+                this.bandFromCol = new int[bands];
+                this.bandToCol = new int[bands];
+            }
+            Arrays.fill(this.bandToCol, 0, bands, -1);
+
+            if(snapshot.isChangeSetValid() && snapshot.getSequence() == rendered.getSequence() + 1) {
+                // the change set covers exactly the cells changed since the snapshot last drawn.
+                for(int k = 0; k < snapshot.getChangedCount(); k++) {
+                    this.drawChangedCell(canvas, palette, snapshot.getChangedCell(k), span);
                 }
-                else {
-                    deadCount++;
-                    this.view.getGrids()[i][j].setBackground(this.myIterator.getCurrentGrid().getCellColor(i, j, this.view.getColors("color_cell_dead")));
+                repaintedCells = snapshot.getChangedCount();
+            }
+            else {
+                // snapshots have gone undrawn, so the cells changed are those differing from the last drawn.
+                for(int w = 0; w < words; w++) {
+                    for(long diff = this.renderedFrame[w] ^ this.latestFrame[w]; diff != 0; diff &= diff - 1) {
+                        this.drawChangedCell(canvas, palette, (w << 6) + Long.numberOfTrailingZeros(diff), span);
+                        repaintedCells++;
+                    }
+                }
+            }
+
+            for(int band = 0; band < bands; band++) {
+                if(this.bandToCol[band] >= 0) {
+                    int fromRow = band * REPAINT_BAND_ROWS;
+                    canvas.paintCells(fromRow, this.bandFromCol[band],
+                            Math.min(span, fromRow + REPAINT_BAND_ROWS) - 1, this.bandToCol[band]);
                 }
             }
         }
-        this.view.getLblIterationCount().setText(Long.toString(myIterator.getIteratorCount()));
+        long[] drawn = this.renderedFrame;
+        this.renderedFrame = this.latestFrame;
+        this.latestFrame = drawn;
+        snapshot.release();
+        this.renderedSnapshot = snapshot;
+
+        int aliveCount = (int) snapshot.getPopulation();
+        int deadCount = snapshot.getGridDimensions() * snapshot.getGridDimensions() - aliveCount;
+        this.view.getLblIterationCount().setText(Long.toString(snapshot.getGeneration()));
         this.view.getLblCellsAliveCount().setText(Integer.toString(aliveCount));
         this.view.getLblCellsDeadCount().setText(Integer.toString(deadCount));
         this.view.getPbarLevelOfLife().setValue(aliveCount);
 
+        if(event != null) {
+            SimulationEvents.get().commitRender(event, snapshot.getGeneration(), snapshot.getGridDimensions(),
+                    repaintedCells, fullRepaint);
+        }
+
         switch(this.myIterator.getState()) {
             case GridIterator.PROGRAM_STOPPED: {
                 this.view.getLblProgramStatusState().setText(this.view.getLanguageString("status_stopped"));
@@ -296,20 +698,64 @@ public class Controller implements ActionListener, ChangeListener, Observer {
                 this.view.getLblProgramStatusState().setText(this.view.getLanguageString("status_running"));
                 break;
             }
+            case GridIterator.PROGRAM_IDLE: {
+                this.view.getLblProgramStatusState().setText(this.view.getLanguageString("status_idle")
+                        + snapshot.getCyclePeriod());
+                this.view.getBtnStart().setEnabled(true);
+                this.view.getBtnStop().setEnabled(false);
+                this.view.getChkCellShading().setEnabled(true);
+                this.view.getChkIterationSaving().setEnabled(true);
+                this.view.getSldrGridSize().setEnabled(true);
+                break;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the palette index of a changed cell to the canvas, widening the columns painted
+     * in its band of rows.
+     * </p>
+     * @param canvas The canvas to write to.
+     * @param palette The palette the canvas is indexed by.
+     * @param cellIdx The row major index of the changed cell.
+     * @param span The n dimension of the square grid.
+     */
+    private void drawChangedCell(GridCanvas canvas, CellPalette palette, int cellIdx, int span) {
+
+        int i = cellIdx / span;
+        int j = cellIdx % span;
+        canvas.setCellIndex(i, j, palette.getIndex(BitFrames.isCellAlive(this.latestFrame, span, i, j), 0));
+
+        int band = i / REPAINT_BAND_ROWS;
+        if(this.bandToCol[band] < 0) {
+            this.bandFromCol[band] = j;
+            this.bandToCol[band] = j;
+        }
+        else {
+            this.bandFromCol[band] = Math.min(this.bandFromCol[band], j);
+            this.bandToCol[band] = Math.max(this.bandToCol[band], j);
         }
     }
 
     /**
      * <p>
      *     Method from implemented Observer model. Allows listening to any class that
-     *     extends the Observable class.
+     *     extends the Observable class. Notifications may come from any thread, so the
+     *     view update is posted to the event dispatch thread, any notification arriving
+     *     before it has run being coalesced into it.
      * </p>
      * @param o The element to be observed.
      * @param arg Object which has been changed, not used.
      */
     @Override
     public void update(Observable o, Object arg) {
-        updateView(); // on noticed changed update all view data.
+        if(this.updatePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                this.updatePending.set(false);
+                this.updateView(); // on noticed changed update all view data.
+            });
+        }
     }
 
     /**
@@ -351,6 +797,11 @@ public class Controller implements ActionListener, ChangeListener, Observer {
                 break;
             }
 
+            case "menuOptOpen": {
+                this.handleOpen();
+                break;
+            }
+
             case "menuOptSaveAs": {
                 this.handleSaveAs();
                 break;
@@ -360,6 +811,30 @@ public class Controller implements ActionListener, ChangeListener, Observer {
                 this.handleClearAll();
                 break;
             }
+            case "menuOptStepBack": {
+                this.handleStepBack();
+                break;
+            }
+            case "menuOptGoTo": {
+                this.handleGoTo();
+                break;
+            }
+            case "menuOptRule": {
+                this.handleRule();
+                break;
+            }
+            case "menuOptIdle": {
+                this.myIterator.enableIdling(this.view.getMenuOptIdle().isSelected());
+                break;
+            }
+            case "menuOptUnthrottled": {
+                this.myIterator.setUnthrottled(this.view.getMenuOptUnthrottled().isSelected());
+                break;
+            }
+            case "renderTimer": {
+                this.handleRenderTimer();
+                break;
+            }
             case "menuOptAbout": {
                 this.handleAbout();
                 break;
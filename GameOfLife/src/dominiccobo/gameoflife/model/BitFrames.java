@@ -0,0 +1,80 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Utility methods for bit packed frames, that is the alive / dead state of each
+ *  cell of an n by n grid stored row by row as consecutive bits of long words.
+ *  </p>
+ *  <p>
+ *  The cell at row r and column c is held in bit ((r * n + c) % 64) of word
+ *  ((r * n + c) / 64), and the unused bits of the last word are always zero.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public final class BitFrames {
+
+    /**
+     * Private constructor, the class only holds static utility methods.
+     */
+    private BitFrames() {}
+
+    /**
+     * @param gridSpan The n dimension of the square grid.
+     * @return The number of long words in a frame of the grid.
+     */
+    public static int wordCount(int gridSpan) {
+        return (int) (((long) gridSpan * gridSpan + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * <p>
+     * Packs the state of each cell of an engine into the given frame.
+     * </p>
+     *
+     * @param engine The engine to read the state of each cell from.
+     * @param frame The frame to write to, of at least wordCount(n) words.
+     */
+    public static void pack(LifeEngine engine, long[] frame) {
+
+        int span = engine.getGridDimensions();
+        int words = wordCount(span);
+        for (int w = 0; w < words; w++) frame[w] = 0;
+
+        int cellIdx = 0;
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for (int colIdx = 0; colIdx < span; colIdx++, cellIdx++) {
+                if (engine.isCellAlive(rowIdx, colIdx)) {
+                    frame[cellIdx >>> 6] |= 1L << cellIdx;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param frame The frame to read from.
+     * @param gridSpan The n dimension of the square grid the frame holds.
+     * @param rowIdx The row index of the cell.
+     * @param colIdx The column index of the cell.
+     * @return Boolean evaluation of whether the cell is alive in the frame.
+     */
+    public static boolean isCellAlive(long[] frame, int gridSpan, int rowIdx, int colIdx) {
+        int cellIdx = rowIdx * gridSpan + colIdx;
+        return (frame[cellIdx >>> 6] & (1L << cellIdx)) != 0;
+    }
+
+    /**
+     * @param frame The frame to count the alive cells of.
+     * @param gridSpan The n dimension of the square grid the frame holds.
+     * @return The number of alive cells in the frame.
+     */
+    public static long population(long[] frame, int gridSpan) {
+        long population = 0;
+        int words = wordCount(gridSpan);
+        for (int w = 0; w < words; w++) {
+            population += Long.bitCount(frame[w]);
+        }
+        return population;
+    }
+}
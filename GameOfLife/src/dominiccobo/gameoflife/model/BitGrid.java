@@ -0,0 +1,322 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Models a single instance of a square wrapping grid of defined dimensions n by n,
+ *  packing the alive / dead state of 64 cells into each long word.
+ *  </p>
+ *  <p>
+ *  Rather than counting the adjacent alive cells of each cell separately, the
+ *  eight neighbouring rows are shifted into place and summed a whole word at a
+ *  time using bitwise adders. This trades the cell age information kept by
+ *  Grid for a far smaller and faster representation, so this engine does not
+ *  support GRID_TYPE_SHADED.
+ *  </p>
+ *  <p>
+ *  The rule is applied to the binary digits of the counts of 64 cells at once,
+ *  John Conway's rules through a handful of bitwise operations and any other
+ *  rule through a multiplexer tree over the digits, whose leaves are the entries
+ *  of the rule's table spread across whole words.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class BitGrid implements LifeEngine {
+
+    /**
+     * Instance variable detailing the n by n dimensions of a square grid.
+     */
+    private final int gridDimensions;
+
+    /**
+     * Instance variable detailing the number of long words needed to hold a single row.
+     */
+    private final int wordsPerRow;
+
+    /**
+     * Instance variable masking off the unused trailing bits of the last word of each row.
+     */
+    private final long lastWordMask;
+
+    /**
+     * Instance variable holding the current generation, row by row, with the cell at
+     * column c stored at bit (c % 64) of word (c / 64) of its row.
+     */
+    private long[] current;
+
+    /**
+     * Instance variable holding the buffer the next generation is written to, swapped
+     * with current after each mutation so no allocation happens per generation.
+     */
+    private long[] next;
+
+    /**
+     * Instance variables holding, for the rows above, at and below the row being
+     * mutated, the row shifted so each bit holds its western or eastern neighbour.
+     */
+    private final long[][] west = new long[3][];
+    private final long[][] east = new long[3][];
+
+    /**
+     * Instance variable referencing the rule mutations follow.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * Instance variables holding, for each adjacent alive count, a word of every bit set if
+     * a dead cell with that count is born, or an alive cell with that count survives.
+     */
+    private final long[] birthPlanes = new long[Rule.COUNT_RANGE];
+    private final long[] survivalPlanes = new long[Rule.COUNT_RANGE];
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated bit packed grid of the given span.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square grid to be modelled.
+     */
+    public BitGrid(int gridSpan) {
+
+        this.gridDimensions = gridSpan;
+        this.wordsPerRow = (gridSpan + Long.SIZE - 1) / Long.SIZE;
+
+        int trailingBits = gridSpan % Long.SIZE;
+        this.lastWordMask = (trailingBits == 0) ? -1L : (1L << trailingBits) - 1;
+
+        this.current = new long[gridSpan * this.wordsPerRow];
+        this.next = new long[gridSpan * this.wordsPerRow];
+
+        for(int i = 0; i < 3; i++) {
+            this.west[i] = new long[this.wordsPerRow];
+            this.east[i] = new long[this.wordsPerRow];
+        }
+        setRule(Rule.CONWAY);
+    }
+
+    /**
+     * <p>
+     * Updates the grid to the next mutation based on the rule in use.
+     * </p>
+     * <p>
+     * The western and eastern neighbours of every row are prepared once, then for each word
+     * the eight neighbour bit planes are reduced through a tree of full and half adders into
+     * the binary digits of the adjacent alive count of all 64 cells at once.
+     * </p>
+     */
+    @Override
+    public void getMutation() {
+
+        boolean conway = this.rule.equals(Rule.CONWAY);
+        int above = 0, middle = 1, below = 2;
+
+        // prime the shifted rows for the row above the first row, and the first row itself.
+        shiftRow(this.gridDimensions - 1, above);
+        shiftRow(0, middle);
+
+        for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+
+            int rowAbove = (rowIdx == 0) ? this.gridDimensions - 1 : rowIdx - 1;
+            int rowBelow = (rowIdx == this.gridDimensions - 1) ? 0 : rowIdx + 1;
+            shiftRow(rowBelow, below);
+
+            int aboveBase = rowAbove * this.wordsPerRow;
+            int middleBase = rowIdx * this.wordsPerRow;
+            int belowBase = rowBelow * this.wordsPerRow;
+
+            for (int w = 0; w < this.wordsPerRow; w++) {
+
+                long alive = this.current[middleBase + w];
+
+                // first level of adders, reducing the eight neighbour planes to weighted sums.
+                long a0 = this.west[above][w], a1 = this.current[aboveBase + w], a2 = this.east[above][w];
+                long aSum = a0 ^ a1 ^ a2;
+                long aCarry = (a0 & a1) | (a2 & (a0 ^ a1));
+
+                long b0 = this.west[middle][w], b1 = this.east[middle][w], b2 = this.west[below][w];
+                long bSum = b0 ^ b1 ^ b2;
+                long bCarry = (b0 & b1) | (b2 & (b0 ^ b1));
+
+                long c0 = this.current[belowBase + w], c1 = this.east[below][w];
+                long cSum = c0 ^ c1;
+                long cCarry = c0 & c1;
+
+                // ones digit of the count and the carry into the twos.
+                long ones = aSum ^ bSum ^ cSum;
+                long onesCarry = (aSum & bSum) | (cSum & (aSum ^ bSum));
+
+                // twos digit, gathered from the four weight two carries.
+                long t = aCarry ^ bCarry ^ cCarry;
+                long tCarry = (aCarry & bCarry) | (cCarry & (aCarry ^ bCarry));
+                long twos = t ^ onesCarry;
+                long twosCarry = t & onesCarry;
+
+                if (conway) {
+                    // any weight of four or above means the cell can neither survive nor be born.
+                    long fourOrMore = tCarry | twosCarry;
+
+                    // alive on exactly three, or on exactly two when already alive.
+                    this.next[middleBase + w] = twos & ~fourOrMore & (ones | alive);
+                }
+                else {
+                    // fours and eights digits, from the two weight four carries.
+                    long fours = tCarry ^ twosCarry;
+                    long eights = tCarry & twosCarry;
+
+                    long born = lookup(this.birthPlanes, ones, twos, fours, eights);
+                    long survived = lookup(this.survivalPlanes, ones, twos, fours, eights);
+                    this.next[middleBase + w] = select(alive, survived, born);
+                }
+            }
+            this.next[middleBase + this.wordsPerRow - 1] &= this.lastWordMask;
+
+            // rotate the shifted row slots down by one row.
+            int spare = above;
+            above = middle;
+            middle = below;
+            below = spare;
+        }
+
+        long[] swap = this.current;
+        this.current = this.next;
+        this.next = swap;
+    }
+
+    /**
+     * <p>
+     * Looks up the next state of 64 cells at once from one half of the rule's table, selecting
+     * between the planes of each pair of counts by the ones digit, then between each pair of
+     * pairs by the twos digit and so on. A count of eight has every lower digit clear.
+     * </p>
+     *
+     * @param planes The birth or survival plane of each adjacent alive count.
+     * @return The word of next states, one bit per cell.
+     */
+    private static long lookup(long[] planes, long ones, long twos, long fours, long eights) {
+
+        long upToOne = select(ones, planes[1], planes[0]);
+        long upToThree = select(ones, planes[3], planes[2]);
+        long upToFive = select(ones, planes[5], planes[4]);
+        long upToSeven = select(ones, planes[7], planes[6]);
+
+        long lowerFour = select(twos, upToThree, upToOne);
+        long upperFour = select(twos, upToSeven, upToFive);
+
+        return select(eights, planes[8], select(fours, upperFour, lowerFour));
+    }
+
+    /**
+     * @return For each bit, the bit of ifSet where the selector bit is set, otherwise that of ifClear.
+     */
+    private static long select(long selector, long ifSet, long ifClear) {
+        return ifClear ^ (selector & (ifSet ^ ifClear));
+    }
+
+    /**
+     * <p>
+     * Prepares the western and eastern neighbour planes of a row into the given slot,
+     * wrapping the first and last columns around as Grid does.
+     * </p>
+     *
+     * @param rowIdx The row index to shift.
+     * @param slot The shifted row slot to write to.
+     */
+    private void shiftRow(int rowIdx, int slot) {
+
+        int base = rowIdx * this.wordsPerRow;
+        int lastWord = this.wordsPerRow - 1;
+        int lastBit = (this.gridDimensions - 1) % Long.SIZE;
+        long[] westRow = this.west[slot];
+        long[] eastRow = this.east[slot];
+
+        for (int w = 0; w < this.wordsPerRow; w++) {
+            long word = this.current[base + w];
+            long carryIn = (w == 0) ? (this.current[base + lastWord] >>> lastBit) & 1L
+                                    : this.current[base + w - 1] >>> (Long.SIZE - 1);
+            westRow[w] = (word << 1) | carryIn;
+            eastRow[w] = (w == lastWord) ? word >>> 1 : (word >>> 1) | (this.current[base + w + 1] << (Long.SIZE - 1));
+        }
+        westRow[lastWord] &= this.lastWordMask;
+        eastRow[lastWord] |= (this.current[base] & 1L) << lastBit;
+    }
+
+    /**
+     * <p>
+     * Returns the boolean alive / dead cell status of a specific cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to retrieve the status for.
+     * @param colIdx The column (2d) index of the cell to retrieve the status for.
+     * @return Boolean evaluation of whether a cell is alive or dead.
+     */
+    @Override
+    public boolean isCellAlive(int rowIdx, int colIdx) {
+        return (this.current[rowIdx * this.wordsPerRow + (colIdx >>> 6)] & (1L << colIdx)) != 0;
+    }
+
+    /**
+     * <p>
+     * Toggles the state of a cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to apply the toggle to.
+     * @param colIdx The column (2d) index of the cell to apply the toggle to.
+     */
+    @Override
+    public void toggleState(int rowIdx, int colIdx) {
+        this.current[rowIdx * this.wordsPerRow + (colIdx >>> 6)] ^= 1L << colIdx;
+    }
+
+    /**
+     * <p>
+     * Returns the integer n by n grid dimensions for the current grid.
+     * </p>
+     * @return The integer value of the grid dimension.
+     */
+    @Override
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * <p>
+     * Sets the rule mutations follow, spreading each entry of its table across a whole word.
+     * </p>
+     * @param rule The rule to follow.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        this.rule = rule;
+        for (int aliveCount = 0; aliveCount < Rule.COUNT_RANGE; aliveCount++) {
+            this.birthPlanes[aliveCount] = rule.next(false, aliveCount) ? -1L : 0L;
+            this.survivalPlanes[aliveCount] = rule.next(true, aliveCount) ? -1L : 0L;
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the rule mutations follow.
+     * </p>
+     * @return The rule in use.
+     */
+    @Override
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * <p>
+     * Returns the number of alive cells, counted a word at a time.
+     * </p>
+     * @return The count of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        long population = 0;
+        for (long word : this.current) {
+            population += Long.bitCount(word);
+        }
+        return population;
+    }
+}
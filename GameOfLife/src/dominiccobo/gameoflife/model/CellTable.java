@@ -0,0 +1,240 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.Arrays;
+
+/**
+ *  <p>
+ *  Open addressing hash table mapping the 64 bit key of a cell to a positive int
+ *  value, without boxing either. Keys are probed linearly and removals shift the
+ *  following entries back, so no tombstones are left behind.
+ *  </p>
+ *  <p>
+ *  A value of zero marks an empty slot, so only positive values may be stored.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+class CellTable {
+
+    /**
+     * Constant detailing the smallest number of slots a table is created with.
+     */
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * Instance variables holding the key and value of each slot.
+     */
+    private long[] keys;
+    private int[] values;
+
+    /**
+     * Instance variable detailing the number of occupied slots.
+     */
+    private int size = 0;
+
+    /**
+     * Default constructor creating an empty table of the minimum capacity.
+     */
+    CellTable() {
+        this.keys = new long[MINIMUM_CAPACITY];
+        this.values = new int[MINIMUM_CAPACITY];
+    }
+
+    /**
+     * <p>
+     * Packs the row and column coordinates of a cell into a single 64 bit key.
+     * </p>
+     *
+     * @param rowIdx The row coordinate of the cell.
+     * @param colIdx The column coordinate of the cell.
+     * @return The key of the cell.
+     */
+    static long key(int rowIdx, int colIdx) {
+        return ((long) rowIdx << 32) | (colIdx & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param key The key of a cell.
+     * @return The row coordinate of the cell.
+     */
+    static int row(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * @param key The key of a cell.
+     * @return The column coordinate of the cell.
+     */
+    static int col(long key) {
+        return (int) key;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The value held for the key, or zero if absent.
+     */
+    int get(long key) {
+        int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; this.values[slot] != 0; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) return this.values[slot];
+        }
+        return 0;
+    }
+
+    /**
+     * @param key The key to store the value against.
+     * @param value The positive value to store.
+     */
+    void put(long key, int value) {
+        int slot = findSlot(key);
+        if (this.values[slot] == 0) {
+            this.keys[slot] = key;
+            this.size++;
+        }
+        this.values[slot] = value;
+        growIfNeeded();
+    }
+
+    /**
+     * @param key The key whose value is increased by one, starting from zero if absent.
+     */
+    void increment(long key) {
+        int slot = findSlot(key);
+        if (this.values[slot] == 0) {
+            this.keys[slot] = key;
+            this.size++;
+        }
+        this.values[slot]++;
+        growIfNeeded();
+    }
+
+    /**
+     * @param key The key to remove, along with its value.
+     */
+    void remove(long key) {
+
+        int mask = this.keys.length - 1;
+        int slot = findSlot(key);
+        if (this.values[slot] == 0) return;
+
+        // shift back any following entry which would no longer be reachable past the gap.
+        int gap = slot;
+        for (int next = (gap + 1) & mask; this.values[next] != 0; next = (next + 1) & mask) {
+            int home = hash(this.keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                this.keys[gap] = this.keys[next];
+                this.values[gap] = this.values[next];
+                gap = next;
+            }
+        }
+        this.values[gap] = 0;
+        this.size--;
+    }
+
+    /**
+     * <p>
+     * Empties the table, shrinking it if it has become far larger than its contents need.
+     * </p>
+     *
+     * @param expectedSize The number of entries expected to be stored next.
+     */
+    void clear(int expectedSize) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity < this.keys.length / 4) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+        }
+        else {
+            Arrays.fill(this.values, 0);
+        }
+        this.size = 0;
+    }
+
+    /**
+     * @return The number of entries held.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of slots, entries may be visited by index up to this bound.
+     */
+    int capacity() {
+        return this.keys.length;
+    }
+
+    /**
+     * @param slot The slot index.
+     * @return The key held at the slot, only meaningful if its value is positive.
+     */
+    long keyAt(int slot) {
+        return this.keys[slot];
+    }
+
+    /**
+     * @param slot The slot index.
+     * @return The value held at the slot, zero if the slot is empty.
+     */
+    int valueAt(int slot) {
+        return this.values[slot];
+    }
+
+    /**
+     * @return The slot holding the key, or the empty slot it would be stored in.
+     */
+    private int findSlot(long key) {
+        int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.values[slot] != 0 && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * <p>
+     * Doubles the number of slots once more than half are occupied, keeping probe sequences short.
+     * </p>
+     */
+    private void growIfNeeded() {
+
+        if (this.size * 2 <= this.keys.length) return;
+
+        long[] oldKeys = this.keys;
+        int[] oldValues = this.values;
+        this.keys = new long[oldKeys.length * 2];
+        this.values = new int[oldValues.length * 2];
+
+        int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (this.values[slot] != 0) slot = (slot + 1) & mask;
+            this.keys[slot] = oldKeys[i];
+            this.values[slot] = oldValues[i];
+        }
+    }
+
+    /**
+     * @return The smallest power of two number of slots holding the given number of entries.
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedSize * 2) capacity <<= 1;
+        return capacity;
+    }
+
+    /**
+     * @return A well mixed hash of the key, so neighbouring cells spread across the table.
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,278 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Detects when a run of a grid settles into a cycle, that is a still life (a period of one)
+ *  or an oscillator, by hashing the state of the grid at each generation.
+ *  </p>
+ *  <p>
+ *  The hash is Zobrist style, the XOR of a 64 bit key for each alive cell, so that it is kept
+ *  up to date from the grid's change set by XORing the key of each changed cell, without
+ *  reading the rest of the grid. Keys are derived from the cell index by a mixing function
+ *  rather than held in a table. The hashes of the last RECENT_GENERATIONS generations are held
+ *  in a ring, and a generation whose hash matches a held one closes a cycle.
+ *  </p>
+ *  <p>
+ *  As with the Timeline, successive generations are assumed to follow by a single mutation,
+ *  any other change being an edit which forgets the held hashes and any found cycle. Each
+ *  mutation may advance by a stride of more than one generation, as when stepping through
+ *  HashLife, in which case cycles are only seen at multiples of the stride, so the period
+ *  found is the shortest multiple of the stride that is a multiple of the true period.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class CycleDetector {
+
+    /**
+     * Constant detailing the number of recent generations held, one more than the longest
+     * period that can be detected.
+     */
+    public static final int RECENT_GENERATIONS = 128;
+
+    /**
+     * Instance variables holding the ring of recent hashes, along with their generations.
+     */
+    private final long[] recentHashes = new long[RECENT_GENERATIONS];
+    private final long[] recentGenerations = new long[RECENT_GENERATIONS];
+    private int recentCount = 0;
+    private int recentNext = 0;
+
+    /**
+     * Instance variable holding the hash of the newest generation.
+     */
+    private long hash = 0;
+
+    /**
+     * Instance variable detailing the newest generation, or -1 before the first.
+     */
+    private long generation = -1;
+
+    /**
+     * Instance variable detailing the number of generations each mutation advances by.
+     */
+    private long stride = 1;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the hashed grid.
+     */
+    private int gridDimensions = 0;
+
+    /**
+     * Instance variable detailing the number of entries of the grid's change set already
+     * hashed, or -1 if the change set can not be relied upon.
+     */
+    private int consumedChanges = -1;
+
+    /**
+     * Instance variables detailing the period of the found cycle, zero if none has been found,
+     * and the first generation known to lie on it.
+     */
+    private long period = 0;
+    private long cycleStart = -1;
+
+    /**
+     * <p>
+     * Updates the hash with the current state of a grid at the given generation, each
+     * mutation advancing by a single generation. See update(long, Grid, long).
+     * </p>
+     *
+     * @param generation The generation the grid is at.
+     * @param grid The grid to hash the current state of.
+     */
+    public void update(long generation, Grid grid) {
+        update(generation, grid, 1);
+    }
+
+    /**
+     * <p>
+     * Updates the hash with the current state of a grid at the given generation.
+     * </p>
+     * <ul>
+     *     <li>The generation a stride after the newest is hashed from the grid's change set,
+     *     and looked up amongst the recent hashes to find a cycle.</li>
+     *     <li>The newest generation is amended with any cell toggled since, forgetting the
+     *     recent hashes and any found cycle should a cell have been toggled. Calling update()
+     *     with the current generation before each mutation therefore catches edits.</li>
+     *     <li>Any other generation is hashed afresh, forgetting the recent hashes and any
+     *     found cycle.</li>
+     * </ul>
+     * <p>
+     * A change of stride forgets the recent hashes and any found cycle, as they were hashed at
+     * generations the new stride may not reach.
+     * </p>
+     *
+     * @param generation The generation the grid is at.
+     * @param grid The grid to hash the current state of.
+     * @param stride The number of generations each mutation advances by, at least one.
+     */
+    public void update(long generation, Grid grid, long stride) {
+
+        if (stride != this.stride) {
+            this.stride = stride;
+            forget();
+            if (this.generation >= 0) {
+                remember(this.generation, this.hash);
+            }
+        }
+
+        int span = grid.getGridDimensions();
+        boolean follows = (generation == this.generation + stride);
+        if (span != this.gridDimensions || (!follows && generation != this.generation)) {
+            rehash(generation, grid);
+            return;
+        }
+
+        long previous = this.hash;
+        int fromEntry = follows ? 0 : Math.max(this.consumedChanges, 0);
+        if (grid.isChangeSetValid() && this.consumedChanges >= 0 && grid.getChangedCount() >= fromEntry) {
+            for (int i = fromEntry; i < grid.getChangedCount(); i++) {
+                this.hash ^= key(grid.getChangedCell(i));
+            }
+            this.consumedChanges = grid.getChangedCount();
+        }
+        else {
+            this.hash = computeHash(grid);
+            this.consumedChanges = grid.isChangeSetValid() ? grid.getChangedCount() : -1;
+        }
+
+        if (!follows) {
+            if (this.hash != previous) {
+                forget();
+                remember(generation, this.hash);
+            }
+            return;
+        }
+        this.generation = generation;
+
+        if (this.period == 0) {
+            for (int i = 0; i < this.recentCount; i++) {
+                if (this.recentHashes[i] == this.hash) {
+                    this.period = generation - this.recentGenerations[i];
+                    this.cycleStart = this.recentGenerations[i];
+                    break;
+                }
+            }
+        }
+        remember(generation, this.hash);
+    }
+
+    /**
+     * <p>
+     * Records that a grid has been moved along its found cycle to the given generation, as by
+     * a jump, keeping the found cycle whilst forgetting the recent hashes.
+     * </p>
+     * @param generation The generation the grid has been moved to, on or after the start of
+     *                   the found cycle.
+     * @param grid The grid moved.
+     */
+    public void advance(long generation, Grid grid) {
+
+        long period = this.period;
+        long cycleStart = this.cycleStart;
+        rehash(generation, grid);
+        if (period > 0) {
+            this.period = period;
+            this.cycleStart = Math.min(cycleStart, generation);
+        }
+    }
+
+    /**
+     * Hashes a grid afresh, forgetting the recent hashes and any found cycle.
+     */
+    private void rehash(long generation, Grid grid) {
+        this.gridDimensions = grid.getGridDimensions();
+        this.hash = computeHash(grid);
+        this.generation = generation;
+        this.consumedChanges = grid.isChangeSetValid() ? grid.getChangedCount() : -1;
+        forget();
+        remember(generation, this.hash);
+    }
+
+    /**
+     * @return The hash of every alive cell of a grid.
+     */
+    private static long computeHash(Grid grid) {
+        long hash = 0;
+        int span = grid.getGridDimensions();
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for (int colIdx = 0; colIdx < span; colIdx++) {
+                if (grid.isCellAlive(rowIdx, colIdx)) {
+                    hash ^= key(rowIdx * span + colIdx);
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * <p>
+     * Returns the key of a cell, the cell index run through the finalizer of the SplitMix64
+     * generator, so that keys are well spread yet need no table.
+     * </p>
+     * @param cellIdx The row major index of the cell.
+     * @return The key of the cell.
+     */
+    private static long key(int cellIdx) {
+        long z = (cellIdx + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Adds a hash to the ring of recent hashes, replacing the oldest once full.
+     */
+    private void remember(long generation, long hash) {
+        this.recentHashes[this.recentNext] = hash;
+        this.recentGenerations[this.recentNext] = generation;
+        this.recentNext = (this.recentNext + 1) % RECENT_GENERATIONS;
+        this.recentCount = Math.min(this.recentCount + 1, RECENT_GENERATIONS);
+    }
+
+    /**
+     * Forgets the recent hashes and any found cycle.
+     */
+    private void forget() {
+        this.recentCount = 0;
+        this.recentNext = 0;
+        this.period = 0;
+        this.cycleStart = -1;
+    }
+
+    /**
+     * Forgets everything hashed, so that the next update hashes the grid afresh.
+     */
+    public void reset() {
+        forget();
+        this.generation = -1;
+        this.gridDimensions = 0;
+        this.consumedChanges = -1;
+    }
+
+    /**
+     * Getter method for the period of the found cycle.
+     * @return The period in generations, one for a still life, or zero if no cycle has been found.
+     *         Found at a stride of more than one, it is a multiple of the stride.
+     */
+    public long getPeriod() {
+        return this.period;
+    }
+
+    /**
+     * Getter method for the first generation known to lie on the found cycle.
+     * @return The generation, or -1 if no cycle has been found.
+     */
+    public long getCycleStart() {
+        return this.cycleStart;
+    }
+
+    /**
+     * Getter method for the hash of the newest generation.
+     * @return The hash.
+     */
+    public long getHash() {
+        return this.hash;
+    }
+}
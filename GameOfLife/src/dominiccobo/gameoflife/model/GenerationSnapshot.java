@@ -0,0 +1,248 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  <p>
+ *  Immutable copy of a generation of a grid, as published by a GridIterator, so that views,
+ *  savers and analytics may read a consistent generation from any thread without holding the
+ *  iterator whilst the next generation is computed.
+ *  </p>
+ *  <p>
+ *  The state of each cell is held as a bit packed frame, see BitFrames, and the shade of each
+ *  cell only whilst the grid is shaded. Each snapshot is numbered by a sequence, one more than
+ *  the snapshot published before it, and lists the cells changed since that snapshot where
+ *  they are known, so that a reader having read the previous snapshot need only read those.
+ *  </p>
+ *  <p>
+ *  The arrays holding the cells are recycled by the iterator for later snapshots once no
+ *  reader holds them. A snapshot from GridIterator.acquireSnapshot() is held until release()
+ *  is called, after which only the generation, sequence, dimensions, population and cycle
+ *  period may be read.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public final class GenerationSnapshot {
+
+    /**
+     * Instance variables detailing the generation held, and the sequence number of the snapshot.
+     */
+    private final long generation;
+    private final long sequence;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the grid held.
+     */
+    private final int gridDimensions;
+
+    /**
+     * Instance variable detailing the number of alive cells.
+     */
+    private final long population;
+
+    /**
+     * Instance variable detailing the period of the cycle found by the iterator, zero if none.
+     */
+    private final long cyclePeriod;
+
+    /**
+     * Instance variable holding the bit packed state of each cell, never written once published.
+     */
+    private final long[] frame;
+
+    /**
+     * Instance variable holding the row major index of each cell changed since the previous
+     * snapshot, possibly more than once, or null if they are not known. Only the first
+     * changedCount entries are meaningful.
+     */
+    private final int[] changes;
+    private final int changedCount;
+
+    /**
+     * Instance variable holding the shade of each cell in row major order, see
+     * Grid.getCellShade(), or null if the grid is unshaded.
+     */
+    private final int[] shades;
+
+    /**
+     * Instance variable counting the readers holding the snapshot, or -1 once its arrays
+     * have been reclaimed by the iterator.
+     */
+    private final AtomicInteger pins = new AtomicInteger();
+
+    /**
+     * <p>
+     * Constructor for a snapshot, taking ownership of the given arrays, which must not be
+     * written afterwards until the snapshot is reclaimed.
+     * </p>
+     */
+    GenerationSnapshot(long generation, long sequence, int gridDimensions, long population, long cyclePeriod,
+                       long[] frame, int[] changes, int changedCount, int[] shades) {
+        this.generation = generation;
+        this.sequence = sequence;
+        this.gridDimensions = gridDimensions;
+        this.population = population;
+        this.cyclePeriod = cyclePeriod;
+        this.frame = frame;
+        this.changes = changes;
+        this.changedCount = changedCount;
+        this.shades = shades;
+    }
+
+    /**
+     * <p>
+     * Holds the snapshot for a reader, unless it has already been reclaimed.
+     * </p>
+     * @return Boolean evaluation of whether the snapshot is held.
+     */
+    boolean pin() {
+        int held;
+        do {
+            held = this.pins.get();
+            if (held < 0) return false;
+        } while (!this.pins.compareAndSet(held, held + 1));
+        return true;
+    }
+
+    /**
+     * <p>
+     * Releases a snapshot from GridIterator.acquireSnapshot(), after which its cells are no
+     * longer to be read. To be called once for each acquisition.
+     * </p>
+     */
+    public void release() {
+        this.pins.decrementAndGet();
+    }
+
+    /**
+     * <p>
+     * Reclaims the snapshot for the iterator to recycle its arrays, should no reader hold it.
+     * Only called on snapshots which have been superseded, so never on one about to be pinned.
+     * </p>
+     * @return Boolean evaluation of whether the snapshot was reclaimed.
+     */
+    boolean reclaim() {
+        return this.pins.compareAndSet(0, -1);
+    }
+
+    /**
+     * @param rowIdx The row index of the cell.
+     * @param colIdx The column index of the cell.
+     * @return Boolean evaluation of whether the cell is alive.
+     */
+    public boolean isCellAlive(int rowIdx, int colIdx) {
+        return BitFrames.isCellAlive(this.frame, this.gridDimensions, rowIdx, colIdx);
+    }
+
+    /**
+     * @param rowIdx The row index of the cell.
+     * @param colIdx The column index of the cell.
+     * @return The shade the cell is displayed with, see Grid.getCellShade(), zero if unshaded.
+     */
+    public int getCellShade(int rowIdx, int colIdx) {
+        return (this.shades == null) ? 0 : this.shades[rowIdx * this.gridDimensions + colIdx];
+    }
+
+    /**
+     * @return Boolean evaluation of whether the shade of each cell is held.
+     */
+    public boolean isShaded() {
+        return this.shades != null;
+    }
+
+    /**
+     * @return Boolean evaluation of whether the cells changed since the previous snapshot are known.
+     */
+    public boolean isChangeSetValid() {
+        return this.changes != null;
+    }
+
+    /**
+     * @return The number of cells changed since the previous snapshot, only meaningful whilst
+     *         isChangeSetValid().
+     */
+    public int getChangedCount() {
+        return (this.changes == null) ? 0 : this.changedCount;
+    }
+
+    /**
+     * @param i The index of the cell within the change set, from zero to getChangedCount().
+     * @return The row major index of the changed cell.
+     */
+    public int getChangedCell(int i) {
+        return this.changes[i];
+    }
+
+    /**
+     * <p>
+     * Copies the bit packed state of each cell into the given frame.
+     * </p>
+     * @param frame The frame to write to, of at least BitFrames.wordCount(n) words.
+     */
+    public void copyFrame(long[] frame) {
+        System.arraycopy(this.frame, 0, frame, 0, this.frame.length);
+    }
+
+    /**
+     * Package-private access to the frame, for building the next snapshot from and recycling.
+     */
+    long[] getFrame() {
+        return this.frame;
+    }
+
+    /**
+     * Package-private access to the change set, for recycling.
+     */
+    int[] getChanges() {
+        return this.changes;
+    }
+
+    /**
+     * Package-private access to the shades, for recycling.
+     */
+    int[] getShades() {
+        return this.shades;
+    }
+
+    /**
+     * Getter method for the generation held.
+     * @return The generation.
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Getter method for the sequence number of the snapshot.
+     * @return The sequence number, one more than that of the snapshot published before it.
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Getter method for the grid dimensions.
+     * @return The n dimension of the n by n grid held.
+     */
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * Getter method for the population.
+     * @return The number of alive cells.
+     */
+    public long getPopulation() {
+        return this.population;
+    }
+
+    /**
+     * Getter method for the period of the cycle found by the iterator.
+     * @return The period in generations, or zero if no cycle had been found.
+     */
+    public long getCyclePeriod() {
+        return this.cyclePeriod;
+    }
+}
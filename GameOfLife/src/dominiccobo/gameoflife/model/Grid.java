@@ -2,6 +2,8 @@ package dominiccobo.gameoflife.model;
 
 import java.awt.*;
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  *  <p>
@@ -10,13 +12,14 @@ import java.util.Arrays;
  *  </p>
  *  <p>
  *  Model contains methods to obtain the next instance of life and update itself
- *  based on John Conway's rules. This is known as an iteration.
+ *  based on John Conway's rules, or any other Life-like rule set through setRule().
+ *  This is known as an iteration.
  *  </p>
  *
  *  @author Dominic Cobo
  *  @since March 2017
  */
-public class Grid {
+public class Grid implements LifeEngine {
 
     /**
      * Constant int value association for a dead cell, for a grid with type definition
@@ -30,18 +33,6 @@ public class Grid {
      */
     public static final int STATE_ALIVE = 1;
 
-    /**
-     * Constant detailing the needed number of adjacent alive cells surrounding a defined cell needed for
-     * said cell to stay in the alive state, or if dead, turn to the defined alive state.
-     */
-    public static final int NEEDED_FOR_BIRTH = 3;
-
-    /**
-     * Constant detailing the number of adjacent alive cells surrounding a defined cell needed for said
-     * cell to remain in the alive state.
-     */
-    public static final int NEEDED_TO_SURVIVE = 2;
-
     /**
      * Constant used to define a value for reference as to the grid being created needing to consist
      * of a single color shade for each cell state. That is the cell is either displayed as dead or
@@ -62,12 +53,62 @@ public class Grid {
      */
     public static final int GRID_MINIMUM_SPAN = 20;
 
+    /**
+     * Constants detailing the range of the color intensity a shaded cell is displayed with,
+     * from the intensity of a cell which has just changed state up to that of a cell which
+     * has been in its state for a long time.
+     */
+    public static final int SHADE_MINIMUM = 80;
+    public static final int SHADE_MAXIMUM = 250;
+
 
     /**
      * Constant used to define the maximum acceptable numeric integer value for the n by n span of
      * any modelled Grid.
      */
-    public static final int GRID_MAXIMUM_SPAN = 100;
+    public static final int GRID_MAXIMUM_SPAN = 1000;
+
+    /**
+     * Constant used to define a value for reference as to the grid re-checking every cell
+     * of the grid at each mutation.
+     */
+    public static final int STEP_MODE_FULL = 0;
+
+    /**
+     * Constant used to define a value for reference as to the grid only re-checking the cells
+     * which changed state in the previous mutation, along with their adjacent cells. As no
+     * other cell can change state this produces the same mutation as STEP_MODE_FULL, at a
+     * cost proportional to the activity on the grid rather than its area.
+     */
+    public static final int STEP_MODE_INCREMENTAL = 1;
+
+    /**
+     * Constant used to define a value for reference as to the grid re-checking every cell of
+     * the grid at each mutation, with bands of rows checked concurrently across a pool of
+     * threads. Every band reads from the previous mutation and writes to its own rows of the
+     * next, so this produces the same mutation as STEP_MODE_FULL.
+     */
+    public static final int STEP_MODE_PARALLEL = 2;
+
+    /**
+     * Constant detailing the fewest cells a band of rows is split down to in the
+     * STEP_MODE_PARALLEL step mode, below which the cost of a task outweighs its work.
+     */
+    private static final int PARALLEL_BAND_MINIMUM_CELLS = 4096;
+
+    /**
+     * Constant used to define a value for reference as to the grid re-checking every cell of
+     * the grid at each mutation, counting adjacent cells and applying the rules across whole
+     * vector lanes at once through the vector kernel. When the kernel cannot be loaded the grid
+     * falls back to the scalar STEP_MODE_FULL mutation, see isVectorKernelAvailable().
+     */
+    public static final int STEP_MODE_VECTOR = 3;
+
+    /**
+     * Constant detailing the class name of the vector kernel. It is built separately against the
+     * incubating jdk.incubator.vector module, so it is only ever loaded by name.
+     */
+    private static final String VECTOR_KERNEL_CLASS = "dominiccobo.gameoflife.model.VectorMutationKernel";
 
     /**
      * Instance variable defining a null grid which contains the state of each cell on a time ALIVE / DEAD
@@ -87,6 +128,191 @@ public class Grid {
      */
     private int gridDimensions;
 
+    /**
+     * Instance variable referencing the rule mutations follow, John Conway's rules unless set.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * Instance variable detailing the way mutations are computed. That is whether the grid
+     * is abiding by the STEP_MODE_FULL or STEP_MODE_INCREMENTAL configuration.
+     */
+    private int stepMode = STEP_MODE_FULL;
+
+    /**
+     * Instance variable detailing the count of mutations performed in the incremental step
+     * mode, used to stamp cells with the mutation they last changed at.
+     */
+    private int generation = 0;
+
+    /**
+     * <p>
+     * Instance variable holding, for each cell, the generation at which its value in
+     * currentShaded was last written.
+     * </p>
+     * <p>
+     * In the incremental step mode unchanged cells are not visited, so their age is not
+     * advanced in currentShaded. Instead the age is lagging by the number of generations
+     * elapsed since the cell was stamped, until flushAges() brings it up to date.
+     * </p>
+     */
+    private int[] stampedAt;
+
+    /**
+     * Instance variable detailing whether any cell age in currentShaded is lagging behind
+     * its stamp.
+     */
+    private boolean agesLagging = false;
+
+    /**
+     * Instance variables holding the row major indexes of the cells which changed state
+     * in the last mutation, or were toggled since.
+     */
+    private int[] changedCells;
+    private int changedCount = 0;
+
+    /**
+     * Instance variables detailing the number of cells born and the number of cells which died
+     * in the last mutation, both -1 before the first, as counted whilst computing it.
+     */
+    private long births = -1;
+    private long deaths = -1;
+
+    /**
+     * Instance variable detailing the number of alive cells, kept up to date by mutations and
+     * toggles, or -1 if it has to be counted afresh as after the grid state has been replaced.
+     */
+    private long population = -1;
+
+    /**
+     * Instance variable detailing whether the next incremental mutation has to re-check every
+     * cell, as happens when the grid state has been replaced wholesale.
+     */
+    private boolean fullScanPending = true;
+
+    /**
+     * Instance variable detailing whether full, parallel and vector mutations also gather the
+     * cells which changed state into changedCells, as incremental mutations always do.
+     */
+    private boolean changeTracking = false;
+
+    /**
+     * Instance variable detailing whether changedCells lists every cell which changed state
+     * in the last mutation, along with any toggled since.
+     */
+    private boolean changeSetValid = false;
+
+    /**
+     * Instance variables holding the cells to re-check in an incremental mutation, with a
+     * per cell mark used to visit each of them only once.
+     */
+    private int[] candidateCells;
+    private int[] candidateMark;
+
+    /**
+     * Instance variable detailing whether full and parallel mutations are written to a
+     * pre-allocated buffer which is then swapped with currentShaded, rather than to a
+     * freshly allocated array.
+     */
+    private boolean doubleBuffered = false;
+
+    /**
+     * Instance variable holding the buffer the next mutation is written to when double
+     * buffered, that is the array of the mutation before the current one.
+     */
+    private int[][] nextShaded;
+
+    /**
+     * Instance variable detailing the number of threads used in the STEP_MODE_PARALLEL step mode.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Instance variable referencing the pool of threads used in the STEP_MODE_PARALLEL step
+     * mode, created on first use and shut down once the step mode or parallelism changes.
+     */
+    private ForkJoinPool stepPool;
+
+    /**
+     * Instance variable referencing the task computing the whole grid in the STEP_MODE_PARALLEL
+     * step mode, along with the generation it writes to. Its tree of bands is built once for the
+     * dimensions of the grid and reinitialised for each mutation, so that a mutation allocates
+     * no tasks.
+     */
+    private RowBand stepBands;
+    private int[][] stepNext;
+
+    /**
+     * Instance variable referencing the kernel used in the STEP_MODE_VECTOR step mode, which
+     * remains null if the kernel is unavailable.
+     */
+    private MutationKernel vectorKernel;
+
+    /**
+     * Instance variable detailing whether loading the vector kernel has been attempted.
+     */
+    private boolean vectorKernelLoaded = false;
+
+    /**
+     * <p>
+     * Task computing the next mutation of a band of rows into stepNext, split in two whilst the
+     * band is larger than PARALLEL_BAND_MINIMUM_CELLS. Holds the births and deaths of the band
+     * once done, packed as by mutateRow().
+     * </p>
+     */
+    private class RowBand extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromRow;
+        private final int toRow;
+        private final RowBand upper;
+        private final RowBand lower;
+        private long counts;
+
+        private RowBand(int fromRow, int toRow) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            if ((toRow - fromRow) * gridDimensions <= PARALLEL_BAND_MINIMUM_CELLS || toRow - fromRow < 2) {
+                this.upper = null;
+                this.lower = null;
+            }
+            else {
+                int middleRow = (fromRow + toRow) >>> 1;
+                this.upper = new RowBand(fromRow, middleRow);
+                this.lower = new RowBand(middleRow, toRow);
+            }
+        }
+
+        /**
+         * Reinitialises the band and each band within it, so that the tree may be run again.
+         */
+        private void prepare() {
+            this.reinitialize();
+            if (this.upper != null) {
+                this.upper.prepare();
+                this.lower.prepare();
+            }
+        }
+
+        @Override
+        protected void compute() {
+            if (this.upper == null) {
+                long counts = 0;
+                for (int rowIdx = this.fromRow; rowIdx < this.toRow; rowIdx++) {
+                    counts += mutateRow(rowIdx, stepNext[rowIdx]);
+                }
+                this.counts = counts;
+            }
+            else {
+                this.upper.fork();
+                this.lower.compute();
+                this.upper.join();
+                this.counts = this.upper.counts + this.lower.counts;
+            }
+        }
+    }
+
     /**
      * <p>
      * Constructor to create a fresh unpopulated grid model instance specifying
@@ -108,6 +334,7 @@ public class Grid {
         for(int i = 0; i < gridSpan; i++) {
             Arrays.fill(this.currentShaded[i], (byte) Grid.STATE_DEAD);
         }
+        this.population = 0;
     }
 
     /**
@@ -125,6 +352,10 @@ public class Grid {
 
         this.gridDimensions = stateArray.length;
         this.currentShaded = Arrays.copyOf(stateArray, this.gridDimensions);
+        this.population = -1;
+        this.agesLagging = false;
+        this.fullScanPending = true;
+        this.changeSetValid = false;
     }
 
 
@@ -138,81 +369,357 @@ public class Grid {
      * </p>
      * <ul>
      *     <li>
-     *         If a cell alive count abides by the constraints of not being able to stay alive, its state is set
-     *         to dead.
+     *         The next state of the cell is looked up from the table of the rule, by its current state and
+     *         its alive count, see Rule.
      *     </li>
      *     <li>
-     *         If a cell alive count abides by the constraints of being able to be born and it is dead, then its state
-     *         is set to alive.
+     *         If the next state differs, an alive cell's state is set to dead and a dead cell's to alive.
      *     </li>
      *     <li>
-     *         Otherwise by process of logical elimination a cell is able to stay alive, so it's previous state is
-     *         simply copied to the new mutation.
+     *         Otherwise the cell keeps its state, so it's previous state is simply copied to the new mutation.
      *     </li>
      * </ul>
+     * <p>
+     * In the STEP_MODE_INCREMENTAL step mode only the cells which changed in the previous
+     * mutation and their adjacent cells are checked, whilst in the STEP_MODE_PARALLEL step
+     * mode bands of rows are checked concurrently.
+     * </p>
+     * <p>
+     * Each mutation is recorded as a Flight Recorder event where available, see SimulationEvents.
+     * </p>
      */
+    @Override
     public void getMutation() {
 
-        int aliveCount = 0;
+        Object event = SimulationEvents.get().beginStep();
+        if (this.stepMode == STEP_MODE_INCREMENTAL) {
+            getIncrementalMutation();
+        }
+        else {
+            getFullMutation();
+        }
+        if (event != null) {
+            SimulationEvents.get().commitStep(event, this.gridDimensions, this.stepMode, getPopulation(), this.births, this.deaths);
+        }
+    }
+
+    /**
+     * <p>
+     * Updates the currentGrid state to a new mutation by checking every cell, serially, in
+     * bands of rows concurrently or through the vector kernel as the step mode sets.
+     * </p>
+     */
+    private void getFullMutation() {
 
-        int[][] next = new int[gridDimensions][gridDimensions];
+        flushAges();
+
+        int[][] next;
+        if (this.doubleBuffered) {
+            if (this.nextShaded == null || this.nextShaded.length != this.gridDimensions
+                    || this.nextShaded == this.currentShaded) {
+                this.nextShaded = new int[gridDimensions][gridDimensions];
+            }
+            next = this.nextShaded;
+        }
+        else {
+            next = new int[gridDimensions][gridDimensions];
+        }
 
         /*
             For the span of the defined grid, we check each cell's adjacent alive cells and later
-            apply John Conway's rules for life state changing
+            apply the rule for life state changing, counting the births and deaths.
          */
+        long counts = 0;
+        if (this.stepMode == STEP_MODE_PARALLEL) {
+            if (this.stepPool == null) {
+                this.stepPool = new ForkJoinPool(this.parallelism);
+            }
+            if (this.stepBands == null || this.stepBands.toRow != this.gridDimensions) {
+                this.stepBands = new RowBand(0, this.gridDimensions);
+            }
+            this.stepBands.prepare();
+            this.stepNext = next;
+            this.stepPool.invoke(this.stepBands);
+            this.stepNext = null;
+            counts = this.stepBands.counts;
+        }
+        else if (this.stepMode == STEP_MODE_VECTOR && isVectorKernelAvailable()) {
+            // the kernel does not count, so the births and deaths are counted by gatherChanges().
+            this.vectorKernel.mutate(this.currentShaded, next, this.rule);
+            counts = -1;
+        }
+        else {
+            for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+                counts += mutateRow(rowIdx, next[rowIdx]);
+            }
+        }
+        if (this.changeTracking || counts < 0) {
+            counts = gatherChanges(this.currentShaded, next, this.changeTracking);
+        }
+        this.changeSetValid = this.changeTracking;
+        countMutation(counts >>> 32, counts & 0xFFFFFFFFL);
+
+        if (this.doubleBuffered) {
+            // swap the buffers, the current mutation becoming the buffer for the one after.
+            this.nextShaded = this.currentShaded;
+            this.currentShaded = next;
+        }
+        else {
+            // copy the mutation from the temporary next array to the instance variable.
+            this.currentShaded = Arrays.copyOf(next, gridDimensions);
+        }
+        this.fullScanPending = true;
+    }
+
+    /**
+     * <p>
+     * Writes the next mutation of a single row of the grid to the given array, only reading
+     * from the current state so that rows may be mutated in any order or concurrently.
+     * </p>
+     *
+     * @param rowIdx The row index of the row to mutate.
+     * @param nextRow The array to write the mutated row to.
+     * @return The number of cells of the row born, shifted left by 32 bits, plus the number
+     *         which died, so that the results of rows may be summed.
+     */
+    private long mutateRow(int rowIdx, int[] nextRow) {
+
+        Rule rule = this.rule;
+        int aliveCount = 0;
+        int born = 0;
+        int died = 0;
+
+        for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+
+            // obtain and store the adjacent alive cell count to the current cell.
+            aliveCount = getAdjacentAlive(rowIdx, colIdx);
+            boolean alive = isCellAlive(rowIdx, colIdx);
+
+            // if the rule table gives the opposite state, the cell dies or is born.
+            if (rule.next(alive, aliveCount) != alive) {
+                nextRow[colIdx] = alive ? STATE_DEAD : STATE_ALIVE;
+                if (alive) died++;
+                else born++;
+            }
+            // otherwise we'll copy the old value of the cell, aged by one.
+            else {
+                nextRow[colIdx] = this.currentShaded[rowIdx][colIdx];
+                if(nextRow[colIdx] > 0) nextRow[colIdx]++;
+                else if(nextRow[colIdx] < 0) nextRow[colIdx]--;
+            }
+        }
+        return ((long) born << 32) + died;
+    }
+
+    /**
+     * <p>
+     * Counts the cells whose alive / dead state differs between two mutations, optionally
+     * listing them in changedCells.
+     * </p>
+     *
+     * @param previous The signed age of each cell of the previous mutation.
+     * @param next The signed age of each cell of the next mutation.
+     * @param list Whether to list the changed cells in changedCells.
+     * @return The number of cells born, shifted left by 32 bits, plus the number which died.
+     */
+    private long gatherChanges(int[][] previous, int[][] next, boolean list) {
+
+        int cellCount = this.gridDimensions * this.gridDimensions;
+        if (list && (this.changedCells == null || this.changedCells.length != cellCount)) {
+            this.changedCells = new int[cellCount];
+        }
+
+        int count = 0;
+        long born = 0;
         for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+            int[] previousRow = previous[rowIdx];
+            int[] nextRow = next[rowIdx];
             for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+                if ((previousRow[colIdx] > 0) != (nextRow[colIdx] > 0)) {
+                    if (list) this.changedCells[count] = rowIdx * this.gridDimensions + colIdx;
+                    count++;
+                    if (nextRow[colIdx] > 0) born++;
+                }
+            }
+        }
+        if (list) this.changedCount = count;
+        return (born << 32) + (count - born);
+    }
 
-                // obtain and store the adjacent alive cell count to the current cell.
-                aliveCount = getAdjacentAlive(rowIdx, colIdx);
+    /**
+     * Records the births and deaths of a mutation, keeping the population up to date.
+     */
+    private void countMutation(long born, long died) {
+        this.births = born;
+        this.deaths = died;
+        if (this.population >= 0) {
+            this.population += born - died;
+        }
+    }
 
-                // if life is not sustainable based on the surrounding alive cells.
-                if (!isLifeSustainable(aliveCount) && isCellAlive(rowIdx, colIdx)) {
-                    next[rowIdx][colIdx] = STATE_DEAD;
-                }
-                // if birth  is possible based on the number of surrounding alive cells
-                else if(isBirthPossible(aliveCount) && !isCellAlive(rowIdx, colIdx)) {
-                    next[rowIdx][colIdx] = STATE_ALIVE;
-                }
-                // otherwise, if life is sustainable, we'll copy the old value of the cell
-                else {
-                    next[rowIdx][colIdx] = this.currentShaded[rowIdx][colIdx];
-                    if(next[rowIdx][colIdx] > 0) next[rowIdx][colIdx]++;
-                    else if(next[rowIdx][colIdx] < 0) next[rowIdx][colIdx]--;
+    /**
+     * <p>
+     * Updates the currentGrid state to a new mutation by only checking the cells which changed
+     * state in the previous mutation, along with their adjacent cells.
+     * </p>
+     * <p>
+     * The cells which change state are gathered first and only written once all have been
+     * checked, so every check is made against the previous mutation. The ages of the cells
+     * which keep their state are left to lag behind, see stampedAt.
+     * </p>
+     */
+    private void getIncrementalMutation() {
+
+        int cellCount = this.gridDimensions * this.gridDimensions;
+        if (this.stampedAt == null || this.stampedAt.length != cellCount) {
+            this.stampedAt = new int[cellCount];
+            this.changedCells = new int[cellCount];
+            this.candidateCells = new int[cellCount];
+            this.candidateMark = new int[cellCount];
+            this.agesLagging = false;
+            this.fullScanPending = true;
+        }
+        if (!this.agesLagging) {
+            Arrays.fill(this.stampedAt, this.generation);
+            this.agesLagging = true;
+        }
+
+        // gather the cells to check, every cell after a wholesale change of state.
+        int candidateCount = 0;
+        if (this.fullScanPending) {
+            for (int cellIdx = 0; cellIdx < cellCount; cellIdx++) {
+                this.candidateCells[candidateCount++] = cellIdx;
+            }
+        }
+        else {
+            int mark = this.generation + 1;
+            for (int i = 0; i < this.changedCount; i++) {
+                int rowIdx = this.changedCells[i] / this.gridDimensions;
+                int colIdx = this.changedCells[i] % this.gridDimensions;
+
+                for (int rowOffset = -1; rowOffset <= 1; rowOffset++) {
+                    for (int colOffset = -1; colOffset <= 1; colOffset++) {
+                        int cellIdx = normalizeCoordinate(rowIdx + rowOffset) * this.gridDimensions
+                                + normalizeCoordinate(colIdx + colOffset);
+                        if (this.candidateMark[cellIdx] != mark) {
+                            this.candidateMark[cellIdx] = mark;
+                            this.candidateCells[candidateCount++] = cellIdx;
+                        }
+                    }
                 }
             }
         }
-        // copy the mutation from the temporary next array to the instance variable.
-        this.currentShaded = Arrays.copyOf(next, gridDimensions);
+
+        // check each candidate against the current state, noting the cells which change.
+        Rule rule = this.rule;
+        int nextChangedCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            int rowIdx = this.candidateCells[i] / this.gridDimensions;
+            int colIdx = this.candidateCells[i] % this.gridDimensions;
+
+            int aliveCount = getAdjacentAlive(rowIdx, colIdx);
+            boolean alive = isCellAlive(rowIdx, colIdx);
+
+            if (rule.next(alive, aliveCount) != alive) {
+                this.changedCells[nextChangedCount++] = this.candidateCells[i];
+            }
+        }
+
+        // apply the changes, stamping the changed cells with the new generation.
+        this.generation++;
+        long born = 0;
+        for (int i = 0; i < nextChangedCount; i++) {
+            int rowIdx = this.changedCells[i] / this.gridDimensions;
+            int colIdx = this.changedCells[i] % this.gridDimensions;
+
+            if (isCellAlive(rowIdx, colIdx)) {
+                this.currentShaded[rowIdx][colIdx] = STATE_DEAD;
+            }
+            else {
+                this.currentShaded[rowIdx][colIdx] = STATE_ALIVE;
+                born++;
+            }
+            this.stampedAt[this.changedCells[i]] = this.generation;
+        }
+        this.changedCount = nextChangedCount;
+        countMutation(born, nextChangedCount - born);
+        this.fullScanPending = false;
+        this.changeSetValid = true;
     }
 
     /**
      * <p>
-     * Applying John Conway's logical principle for checking whether a cell in the dead state
-     * can change its state to alive based on the number of alive immediate cells surrounding it.
+     * Returns the up to date value of a cell, adding on any age lagging behind since the
+     * cell was stamped in the incremental step mode.
      * </p>
      *
-     * @param aliveCount The surrounding adjacent alive cells of the cell being checked.
-     * @return A boolean evaluation of the possibility of the cell matching the criteria to 'revive'.
+     * @param rowIdx The row (1d) index of the cell.
+     * @param colIdx The column (2d) index of the cell.
+     * @return The signed age of the cell, as held by currentShaded when no age is lagging.
+     */
+    private int getShadedValue(int rowIdx, int colIdx) {
+
+        int value = this.currentShaded[rowIdx][colIdx];
+        if (this.agesLagging) {
+            int lag = this.generation - this.stampedAt[rowIdx * this.gridDimensions + colIdx];
+            if (value > 0) value += lag;
+            else if (value < 0) value -= lag;
+        }
+        return value;
+    }
+
+    /**
+     * <p>
+     * Brings every cell age lagging behind in currentShaded up to date.
+     * </p>
      */
-    private static boolean isBirthPossible(int aliveCount) {
-        return aliveCount == NEEDED_FOR_BIRTH;
+    private void flushAges() {
+
+        if (!this.agesLagging) return;
+
+        for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+            for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+                this.currentShaded[rowIdx][colIdx] = getShadedValue(rowIdx, colIdx);
+            }
+        }
+        this.agesLagging = false;
     }
 
     /**
      * <p>
-     * Applying John Conway's logical principles for checking whether a cell's adjacent surrounding
-     * alive count permits a cell to stay alive.
+     * Updates the grid to the state of another engine modelling the same span, treating
+     * the change as a single mutation for the purposes of cell shading. That is cells whose
+     * state differs are reset to the fresh alive or dead state, whilst the age of every
+     * other cell is advanced by one.
      * </p>
      *
-     * @param aliveCount The surrounding adjacent alive cells of the cell being checked.
-     * @return A boolean evaluation of the possibility of the cell matching the criteria to remain the alive state.
+     * @param engine The engine to copy the alive / dead state of each cell from.
      */
-    private static boolean isLifeSustainable(int aliveCount) {
-        return (aliveCount == NEEDED_FOR_BIRTH || aliveCount == NEEDED_TO_SURVIVE);
-    }
+    public void applyMutation(LifeEngine engine) {
 
+        flushAges();
+        this.fullScanPending = true;
+        this.changeSetValid = false;
+
+        long born = 0;
+        long died = 0;
+        for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+            for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+
+                int current = this.currentShaded[rowIdx][colIdx];
+                boolean alive = engine.isCellAlive(rowIdx, colIdx);
+
+                if (alive != (current > 0)) {
+                    this.currentShaded[rowIdx][colIdx] = alive ? STATE_ALIVE : STATE_DEAD;
+                    if (alive) born++;
+                    else died++;
+                }
+                else if (current > 0) this.currentShaded[rowIdx][colIdx]++;
+                else if (current < 0) this.currentShaded[rowIdx][colIdx]--;
+            }
+        }
+        countMutation(born, died);
+    }
 
     /**
      * <p>
@@ -311,12 +818,30 @@ public class Grid {
      * @param rowIdx The row (1d) index of the cell to apply the toggle to.
      * @param colIdx The column (2d) index of the cell to apply the toggle to.
      */
+    @Override
     public void toggleState(int rowIdx, int colIdx) {
 
         if(this.isCellAlive(rowIdx, colIdx)) {
             this.currentShaded[rowIdx][colIdx] = STATE_DEAD;
+            if(this.population >= 0) this.population--;
+        }
+        else {
+            this.currentShaded[rowIdx][colIdx] = STATE_ALIVE;
+            if(this.population >= 0) this.population++;
+        }
+
+        // keep track of the toggled cell for the next incremental mutation.
+        if(this.agesLagging) {
+            this.stampedAt[rowIdx * this.gridDimensions + colIdx] = this.generation;
+        }
+        if(this.changedCells != null && this.changedCells.length == this.gridDimensions * this.gridDimensions
+                && this.changedCount < this.changedCells.length) {
+            this.changedCells[this.changedCount++] = rowIdx * this.gridDimensions + colIdx;
+        }
+        else {
+            this.fullScanPending = true;
+            this.changeSetValid = false;
         }
-        else this.currentShaded[rowIdx][colIdx] = STATE_ALIVE;
     }
 
     /**
@@ -329,7 +854,7 @@ public class Grid {
      * @param colIdx The column (2d) index of the cell to retrieve the status for.
      * @return Boolean evaluation of whether a cell is alive or dead.
      */
-
+    @Override
     public boolean isCellAlive(int rowIdx, int colIdx) {
         return this.currentShaded[rowIdx][colIdx] > 0;
     }
@@ -340,10 +865,49 @@ public class Grid {
      * </p>
      * @return The integer value of the grid dimension.
      */
+    @Override
     public int getGridDimensions() {
         return this.gridDimensions;
     }
 
+    /**
+     * <p>
+     * Returns the number of cells currently in the alive state. The count is kept up to date
+     * by mutations and toggles, so the grid is only counted afresh after its state has been
+     * replaced.
+     * </p>
+     * @return The count of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        if (this.population < 0) {
+            long population = 0;
+            for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+                for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+                    if (isCellAlive(rowIdx, colIdx)) population++;
+                }
+            }
+            this.population = population;
+        }
+        return this.population;
+    }
+
+    /**
+     * Getter method for the number of cells born in the last mutation, as counted whilst computing it.
+     * @return The count of cells born, or -1 before the first mutation.
+     */
+    public long getBirths() {
+        return this.births;
+    }
+
+    /**
+     * Getter method for the number of cells which died in the last mutation, as counted whilst computing it.
+     * @return The count of cells which died, or -1 before the first mutation.
+     */
+    public long getDeaths() {
+        return this.deaths;
+    }
+
     /**
      * <p>
      * Allows the specification of the grid cell type that will determine whether
@@ -359,7 +923,209 @@ public class Grid {
         this.gridCellType = type;
     }
 
+    /**
+     * Getter method for the grid cell type in use.
+     * @return The grid type value the grid is set to.
+     */
+    public int getType() {
+        return this.gridCellType;
+    }
+
+    /**
+     * <p>
+     * Allows full, parallel and vector mutations to gather the cells which changed state, so
+     * that they may be read through getChangedCell() as they can after incremental mutations.
+     * Gathering costs one more pass over the grid per mutation, so it is disabled by default.
+     * </p>
+     * @param changeTracking Whether every mutation is to gather the cells which changed state.
+     */
+    public void setChangeTracking(boolean changeTracking) {
+        this.changeTracking = changeTracking;
+    }
+
+    /**
+     * Getter method for whether every mutation gathers the cells which changed state.
+     * @return Whether change tracking is enabled.
+     */
+    public boolean isChangeTracking() {
+        return this.changeTracking;
+    }
+
+    /**
+     * <p>
+     * Returns whether the change set, see getChangedCount() and getChangedCell(), lists every
+     * cell which changed state in the last mutation along with any cell toggled since. The
+     * change set is not valid after the grid state has been replaced wholesale, after the
+     * step mode has been changed, or after a full mutation with change tracking disabled, in
+     * which case any cell may have changed.
+     * </p>
+     * @return Boolean evaluation of whether the change set is valid.
+     */
+    public boolean isChangeSetValid() {
+        return this.changeSetValid;
+    }
+
+    /**
+     * Getter method for the number of cells in the change set.
+     * @return The number of cells which changed state, only meaningful whilst isChangeSetValid().
+     */
+    public int getChangedCount() {
+        return this.changedCount;
+    }
+
+    /**
+     * <p>
+     * Returns a cell of the change set as a row major index, that is rowIdx * n + colIdx.
+     * A cell toggled twice since the last mutation may be listed twice.
+     * </p>
+     * @param i The index of the cell within the change set, from zero to getChangedCount().
+     * @return The row major index of the cell.
+     */
+    public int getChangedCell(int i) {
+        return this.changedCells[i];
+    }
+
+    /**
+     * <p>
+     * Allows the specification of the way mutations are computed.
+     * </p>
+     * <ul>
+     *     <li>Specify <b>STEP_MODE_FULL</b> to re-check every cell at each mutation.</li>
+     *     <li>Specify <b>STEP_MODE_INCREMENTAL</b> to only re-check cells around those which changed.</li>
+     *     <li>Specify <b>STEP_MODE_PARALLEL</b> to re-check bands of rows concurrently.</li>
+     *     <li>Specify <b>STEP_MODE_VECTOR</b> to re-check every cell with the vector kernel.</li>
+     * </ul>
+     * @param stepMode The step mode value to set the grid to.
+     */
+    public void setStepMode(int stepMode) {
+        if(this.stepMode != stepMode) {
+            this.stepMode = stepMode;
+            this.fullScanPending = true;
+            this.changeSetValid = false;
+            shutdownStepPool();
+        }
+    }
+
+    /**
+     * <p>
+     * Setter method for the rule mutations follow, such as Rule.CONWAY or a rule parsed from
+     * B/S notation with Rule.parse(). Every cell is re-checked by the next incremental mutation,
+     * as cells left settled by the previous rule may change under the new one.
+     * </p>
+     * @param rule The rule to follow.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        if(!this.rule.equals(rule)) {
+            this.rule = rule;
+            this.fullScanPending = true;
+        }
+    }
+
+    /**
+     * Getter method for the rule mutations follow.
+     * @return The rule the grid is set to.
+     */
+    @Override
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * Getter method for the step mode in use.
+     * @return The step mode value the grid is set to.
+     */
+    public int getStepMode() {
+        return this.stepMode;
+    }
+
+    /**
+     * <p>
+     * Evaluates whether the vector kernel used by the STEP_MODE_VECTOR step mode can be used.
+     * This requires the kernel to be on the class path and the jdk.incubator.vector module to
+     * be resolved, for instance by running with --add-modules jdk.incubator.vector.
+     * </p>
+     * @return Boolean evaluation of whether the vector kernel is available.
+     */
+    public boolean isVectorKernelAvailable() {
+        if(!this.vectorKernelLoaded) {
+            this.vectorKernelLoaded = true;
+            try {
+                this.vectorKernel = (MutationKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException | LinkageError $e) {
+                this.vectorKernel = null;
+            }
+        }
+        return this.vectorKernel != null;
+    }
+
+    /**
+     * <p>
+     * Toggles double buffering of full and parallel mutations. When enabled, two generation
+     * buffers are swapped at each mutation so that a serial mutation allocates nothing.
+     * </p>
+     * <p>
+     * As the buffers are reused, an array returned by getCurrentShaded() is overwritten
+     * by the mutation after next and should not be held on to.
+     * </p>
+     * @param doubleBuffered Boolean flag for enabling or disabling.
+     */
+    public void setDoubleBuffered(boolean doubleBuffered) {
+        this.doubleBuffered = doubleBuffered;
+        if(!doubleBuffered) {
+            this.nextShaded = null;
+        }
+    }
+
+    /**
+     * Getter method for whether mutations are double buffered.
+     * @return Boolean evaluation of whether double buffering is enabled.
+     */
+    public boolean isDoubleBuffered() {
+        return this.doubleBuffered;
+    }
+
+    /**
+     * <p>
+     * Setter method for the number of threads used in the STEP_MODE_PARALLEL step mode,
+     * which defaults to the number of available processors.
+     * </p>
+     * @param parallelism The number of threads to compute mutations with, at least one.
+     */
+    public void setParallelism(int parallelism) {
+        parallelism = Math.max(1, parallelism);
+        if(this.parallelism != parallelism) {
+            this.parallelism = parallelism;
+            shutdownStepPool();
+        }
+    }
+
+    /**
+     * Shuts down the pool of threads used in the STEP_MODE_PARALLEL step mode, if created,
+     * so that its threads end. A new pool is created should it be used again.
+     */
+    private void shutdownStepPool() {
+        if(this.stepPool != null) {
+            this.stepPool.shutdown();
+            this.stepPool = null;
+        }
+    }
+
+    /**
+     * Getter method for the number of threads used in the STEP_MODE_PARALLEL step mode.
+     * @return The number of threads mutations are computed with.
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Getter method for the state of each cell, with the age of each cell up to date.
+     * @return A reference to the array holding the signed age of each cell.
+     */
     public int[][] getCurrentShaded() {
+        flushAges();
         return this.currentShaded;
     }
 
@@ -375,27 +1141,37 @@ public class Grid {
      */
     public Color getCellColor(int rowIdx, int colIdx, Color color) {
 
-        int modifyBy = Math.abs(this.currentShaded[rowIdx][colIdx]);
+        int shade = getCellShade(rowIdx, colIdx);
 
-        if(modifyBy < 80) modifyBy = modifyBy+80;
-        if(modifyBy > 250)  modifyBy = 250;
+        if(shade > 0) return new Color(0, shade, 0);
+        if(shade < 0) return new Color(-shade, 0, 0);
+        return color;
+    }
 
-        Color myColor = color;
+    /**
+     * <p>
+     * Returns the shade a cell is displayed with, without creating a Color. Alive cells are
+     * shaded green and dead cells red, with an intensity from SHADE_MINIMUM up to SHADE_MAXIMUM
+     * depending on the time the cell has spent in its state.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell.
+     * @param colIdx The column (2d) index of the cell.
+     * @return The green intensity of an alive cell, the negated red intensity of a dead cell,
+     *         or zero if the cell is displayed in its base color, as happens for every cell of
+     *         a GRID_TYPE_UNSHADED grid.
+     */
+    public int getCellShade(int rowIdx, int colIdx) {
 
-        if(this.gridCellType == GRID_TYPE_SHADED) {
+        if(this.gridCellType != GRID_TYPE_SHADED) return 0;
 
-            if(this.currentShaded[rowIdx][colIdx] > 0) {
-                myColor = new Color(0, modifyBy,  0);
-            }
-            if(this.currentShaded[rowIdx][colIdx] < 0) {
-                myColor = new Color(modifyBy, 0, 0);
-            }
-        }
-        else if(this.gridCellType == GRID_TYPE_UNSHADED){
-            myColor = color;
-        }
+        int shadedValue = getShadedValue(rowIdx, colIdx);
+        int modifyBy = Math.abs(shadedValue);
+
+        if(modifyBy < SHADE_MINIMUM) modifyBy = modifyBy + SHADE_MINIMUM;
+        if(modifyBy > SHADE_MAXIMUM) modifyBy = SHADE_MAXIMUM;
 
-        return myColor;
+        return (shadedValue < 0) ? -modifyBy : (shadedValue > 0) ? modifyBy : 0;
     }
 }
 
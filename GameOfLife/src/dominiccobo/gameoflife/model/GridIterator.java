@@ -1,14 +1,32 @@
 package dominiccobo.gameoflife.model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  *  <p>
- *      Class creates an iterator that creates a timer allowing an instance of the
- *      Grid model to be refreshed at a certain frequency, whilst also providing
+ *      Class creates an iterator that runs a simulation thread allowing an instance
+ *      of the Grid model to be refreshed at a certain frequency, whilst also providing
  *      options such as saving each different state of the grid at each iteration
  *      and tracking the number of iterations performed.
  *  </p>
+ *  <p>
+ *      Generations are computed independently of any view. Observers are only notified
+ *      of changes of state, and are expected to poll for new generations at their own
+ *      rate. Each generation is published as an immutable GenerationSnapshot, which may
+ *      be read from any thread without locking whilst acquired, its arrays being recycled
+ *      for later snapshots once released. The grid itself belongs to the simulation thread
+ *      whilst it runs, and is only to be read or edited directly whilst the iterator is
+ *      stopped or idle, with publish() called after any edit.
+ *  </p>
+ *  <p>
+ *      The grid is best edited through queueEdit(), queueClear(), queueLoad() and
+ *      queueGridType(), from any thread without locking. Queued edits are applied in the
+ *      order queued, by the simulation thread between generations whilst running and at
+ *      once otherwise, so that generations are computed without holding any lock.
+ *  </p>
  *
  *  @author Dominic Cobo
  *  @since March 2017
@@ -32,33 +50,153 @@ public class GridIterator extends Observable {
      */
     public static final int         PROGRAM_RUNNING             = 1;
 
+    /**
+     * <p>
+     *     Constant detailing the integer state corresponding to the iteration having settled
+     *     into a cycle whilst idling is enabled.
+     * </p>
+     * <p>
+     *     In the idle state no generation is computed, as each would repeat an earlier one,
+     *     until the iterator is run again or jumped to a generation.
+     * </p>
+     */
+    public static final int         PROGRAM_IDLE                = 2;
+
     /**
      * Constant detailing the minimum delay possible between iterations in milliseconds.
      */
-    public static final long        MINIMUM_FREQUENCY           = 150;
+    public static final long        MINIMUM_FREQUENCY           = 1;
 
     /**
      * Constant detailing the maximum delay possible between iterations in milliseconds.
      */
     public static final long        MAXIMUM_FREQUENCY           = 1500;
 
+    /**
+     * Constant int value association for the overrun policy of dropping the iterations an
+     * overrunning iteration has delayed, carrying on at the target rate from then on.
+     */
+    public static final int         OVERRUN_DROP                = 0;
+
+    /**
+     * Constant int value association for the overrun policy of running the iterations an
+     * overrunning iteration has delayed back to back, up to MAXIMUM_CATCH_UP of them, so the
+     * average rate is kept. Any more are dropped.
+     */
+    public static final int         OVERRUN_CATCH_UP            = 1;
+
+    /**
+     * Constant detailing the most delayed iterations run back to back under OVERRUN_CATCH_UP.
+     */
+    public static final int         MAXIMUM_CATCH_UP            = 8;
+
+    /**
+     * Constant detailing how long before an iteration is due the simulation thread stops
+     * parking and yields instead, as parking may overshoot, in nanoseconds.
+     */
+    private static final long       SPIN_NANOS                  = 200_000;
+
+    /**
+     * Constant detailing the queued edit of reversing the state of a cell, alongside the
+     * Grid.STATE_ALIVE and Grid.STATE_DEAD edits of setting it.
+     */
+    public static final int         EDIT_TOGGLE                 = 0;
+
+    /**
+     * <p>
+     * A single queued edit of the current grid, applied by whichever thread applies edits.
+     * </p>
+     */
+    private interface GridEdit {
+
+        /**
+         * @param iterator The iterator whose grid to edit.
+         * @return The number of cells toggled, or -1 if the grid was edited as a whole.
+         */
+        int apply(GridIterator iterator);
+    }
+
+    /**
+     * <p>
+     * A single queued edit of a cell. Edits of cells outside the grid, as resized since the
+     * edit was queued, are ignored. Whilst the grid is advanced through HashLife the same
+     * cell is toggled in its universe, so that the edit carries into the next step.
+     * </p>
+     */
+    private static final class CellEdit implements GridEdit {
+
+        private final int rowIdx;
+        private final int colIdx;
+        private final int state;
+
+        private CellEdit(int rowIdx, int colIdx, int state) {
+            this.rowIdx = rowIdx;
+            this.colIdx = colIdx;
+            this.state = state;
+        }
+
+        @Override
+        public int apply(GridIterator iterator) {
+            Grid grid = iterator.currentGrid;
+            int span = grid.getGridDimensions();
+            if(rowIdx < 0 || rowIdx >= span || colIdx < 0 || colIdx >= span) return 0;
+            if(state != EDIT_TOGGLE && grid.isCellAlive(rowIdx, colIdx) == (state == Grid.STATE_ALIVE)) return 0;
+
+            grid.toggleState(rowIdx, colIdx);
+            if(iterator.hashLifeSeeded) {
+                iterator.hashLife.toggleState(rowIdx, colIdx);
+            }
+            return 1;
+        }
+    }
+
     /**
      * Instance variable detailing the integer state corresponding to the current program
      * state that is whether the program is stopped, running or paused.
      */
-    private int                     iteratorState               = PROGRAM_STOPPED;
+    private volatile int            iteratorState               = PROGRAM_STOPPED;
 
     /**
      * Instance variable detailing the long integer count of iterations elapsed during the
      * runtime of the iterator.
      */
-    private long                    iteratorCount               = 0;
+    private volatile long           iteratorCount               = 0;
 
     /**
      * Instance variable detailing the long integer frequency in milliseconds between
      * iterations.
      */
-    private long                    iteratorFrequency           = 1000;
+    private volatile long           iteratorFrequency           = 1000;
+
+    /**
+     * Instance variable detailing the boolean toggle state of running iterations back to back,
+     * regardless of the iteration frequency.
+     */
+    private volatile boolean        iteratorUnthrottled         = false;
+
+    /**
+     * Instance variable detailing the policy followed when an iteration overruns, see
+     * OVERRUN_DROP and OVERRUN_CATCH_UP.
+     */
+    private volatile int            overrunPolicy               = OVERRUN_DROP;
+
+    /**
+     * Instance variable detailing the number of iterations dropped as overrun iterations
+     * delayed them.
+     */
+    private volatile long           droppedIterations           = 0;
+
+    /**
+     * Instance variable LatencyHistogram holding the time taken by each iteration run by the
+     * simulation thread.
+     */
+    private final LatencyHistogram  iterationLatency            = new LatencyHistogram();
+
+    /**
+     * Instance variable SimulationStatistics holding the population, births and deaths of each
+     * generation as counted by the grid whilst computing it, along with the time taken.
+     */
+    private final SimulationStatistics statistics               = new SimulationStatistics();
 
     /**
      * Instance variable detailing the boolean toggle state of iteration saving. When
@@ -68,22 +206,103 @@ public class GridIterator extends Observable {
     private boolean                 iteratorSave                = false;
 
     /**
-     * Instance variable ArrayList containing previous iterations of the game of life, that
+     * Instance variable detailing the number of generations advanced by each iteration.
+     * Step sizes above one are advanced through a HashLife universe seeded from the current
+     * grid, and are always a power of two.
+     */
+    private volatile long           iteratorStepSize            = 1;
+
+    /**
+     * Instance variable referencing the HashLife universe used to advance the current grid
+     * by more than one generation per iteration.
+     */
+    private HashLife                hashLife;
+
+    /**
+     * Instance variable detailing whether the HashLife universe holds the current grid, it
+     * is seeded again whenever the iterator is started.
+     */
+    private boolean                 hashLifeSeeded              = false;
+
+    /**
+     * Instance variable IterationHistory containing previous iterations of the game of life, that
      * is the different mutations of the grid at different stages. Items will only be saved
-     * to here if saving is enabled.
+     * to here if saving is enabled, and the oldest are dropped once its memory cap is reached.
      */
-    private ArrayList<String>         previousIterations          = new ArrayList<>();
+    private IterationHistory        previousIterations          = new IterationHistory();
 
     /**
-     * Instance variable referencing a Timer. Used to queue timer tasks which will run the
-     * algorithm required for updating the grid at a specified interval.
+     * Instance variable Timeline containing the state of the grid at each past generation, so
+     * that the iterator may be rewound or seeked to any of them. Generations are recorded whilst
+     * the timeline is enabled, and older ones are thinned once its memory cap is reached.
      */
-    private Timer                   timer;
+    private Timeline                timeline                    = new Timeline();
 
     /**
-     * Instance variable
+     * Instance variable detailing the boolean toggle state of timeline recording.
      */
-    private TimerTask               timerTask;
+    private boolean                 iteratorTimeline            = true;
+
+    /**
+     * Instance variable CycleDetector hashing each generation to find when the grid settles
+     * into a still life or oscillator.
+     */
+    private CycleDetector           cycleDetector               = new CycleDetector();
+
+    /**
+     * Instance variable detailing the boolean toggle state of cycle detection.
+     */
+    private boolean                 iteratorCycleDetection      = true;
+
+    /**
+     * Instance variable detailing the boolean toggle state of idling once a cycle is found.
+     */
+    private boolean                 iteratorIdle                = false;
+
+    /**
+     * Instance variable referencing the simulation thread, which runs iterations at the
+     * iteration frequency until the iterator is stopped.
+     */
+    private volatile Thread         simulationThread;
+
+    /**
+     * Instance variable detailing whether the grid belongs to the simulation thread, from the
+     * iterator being run until the thread has applied the last queued edits and ended. Only
+     * read or written whilst synchronized on the iterator.
+     */
+    private boolean                 simulating                  = false;
+
+    /**
+     * Instance variable holding the edits queued and not yet applied to the current grid,
+     * oldest first.
+     */
+    private final ConcurrentLinkedQueue<GridEdit> queuedEdits = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Instance variable referencing the latest published snapshot of the current grid.
+     */
+    private final AtomicReference<GenerationSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Constant detailing the number of superseded snapshots kept for their arrays to be
+     * recycled, and the number of spare arrays of each kind kept once they have been.
+     */
+    private static final int        SNAPSHOT_RING               = 4;
+
+    /**
+     * Instance variables holding the superseded snapshots not yet reclaimed, oldest first,
+     * and the arrays reclaimed from them for the next snapshots. Only used whilst publishing.
+     */
+    private final ArrayDeque<GenerationSnapshot> retiredSnapshots = new ArrayDeque<>();
+    private final ArrayDeque<long[]> spareFrames                  = new ArrayDeque<>();
+    private final ArrayDeque<int[]>  spareChanges                 = new ArrayDeque<>();
+    private final ArrayDeque<int[]>  spareShades                  = new ArrayDeque<>();
+
+    /**
+     * Instance variable detailing the number of entries of the grid's change set folded into
+     * the latest snapshot, or -1 if the next snapshot has to be packed from the grid afresh.
+     */
+    private int                     publishedChanges            = -1;
 
     /**
      * Instance variable detailing the currentGrid being operated on by the GridIterator,
@@ -92,41 +311,36 @@ public class GridIterator extends Observable {
     private Grid                    currentGrid                 = new Grid(Grid.GRID_MINIMUM_SPAN, Grid.GRID_TYPE_UNSHADED);
 
     /**
-     * Default empty constructor for the GridIterator model.
+     * <p>
+     * Default constructor for the GridIterator model. The grid is double buffered, as it is
+     * only read by the thread mutating it, never during a mutation.
+     * </p>
      */
-    public GridIterator() {}
+    public GridIterator() {
+        this.currentGrid.setDoubleBuffered(true);
+        this.publish(-1);
+    }
 
     /**
      * <p>
-     * Initialization code for the timer.
+     * Starts the simulation thread, replacing any already running.
      * </p>
      */
     public void run() {
 
-        // set the program state
-        this.iteratorState = PROGRAM_RUNNING;
-
-        // if the timer is created, then cancel it.
-        if(this.timer != null) {
-            this.timer.purge();
-            this.timer.cancel();
-        }
-        this.timer = new Timer();
+        this.endSimulation();
 
-        // if the task is created, then cancel it.
-        if(this.timerTask != null) {
-            this.timerTask.cancel();
+        // set the program state
+        synchronized (this) {
+            this.simulating = true;
         }
+        this.iteratorState = PROGRAM_RUNNING;
+        this.hashLifeSeeded = false;
 
-        this.timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                iterate();
-            }
-        };
-        // schedule the created task at the specified rate.
-        this.timer.scheduleAtFixedRate(timerTask, 0, iteratorFrequency);
-
+        Thread thread = new Thread(this::simulate, "GridIterator");
+        thread.setDaemon(true);
+        this.simulationThread = thread;
+        thread.start();
     }
 
     /**
@@ -135,30 +349,638 @@ public class GridIterator extends Observable {
     public void stop() {
 
         // prevent the program from being attempted to stop if it's not running.
-        if(iteratorState == PROGRAM_RUNNING) {
+        if(iteratorState == PROGRAM_RUNNING || iteratorState == PROGRAM_IDLE) {
             this.iteratorState = PROGRAM_STOPPED;
-            this.timer.cancel();
-            this.timer.purge();
+            this.endSimulation();
+            // edits queued whilst running, yet after the last generation, are applied now.
+            this.applyEdits();
             this.setChanged();
             this.notifyObservers();
         }
     }
 
+    /**
+     * Ends the simulation thread, waiting for its current iteration to complete.
+     */
+    private void endSimulation() {
+
+        Thread thread = this.simulationThread;
+        this.simulationThread = null;
+        if(thread == null || thread == Thread.currentThread()) return;
+
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while(thread.isAlive()) {
+            try {
+                thread.join();
+            }
+            catch (InterruptedException $e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * <p>
+     * Body of the simulation thread. Runs iterations, each due one iteration frequency after
+     * the last was due, pacing them by System.nanoTime() rather than sleeping a fixed amount
+     * so that the time taken by each iteration does not slow the rate. Unthrottled, iterations
+     * are run back to back.
+     * </p>
+     * <p>
+     * An iteration which overruns, so that the next is already due, is followed according to
+     * the overrun policy. The time taken by each iteration is recorded to the iteration
+     * latency histogram.
+     * </p>
+     */
+    private void simulate() {
+
+        Thread self = Thread.currentThread();
+        long deadline = System.nanoTime();
+
+        while(this.iteratorState == PROGRAM_RUNNING && this.simulationThread == self) {
+
+            long start = System.nanoTime();
+            iterate();
+            long end = System.nanoTime();
+            this.iterationLatency.record(end - start);
+
+            if(this.iteratorUnthrottled) {
+                deadline = end;
+                continue;
+            }
+
+            long period = this.iteratorFrequency * 1_000_000L;
+            deadline += period;
+            if(end - deadline >= 0) {
+                // the next iteration is already due, with this many more due after it.
+                long overdue = (end - deadline) / period;
+                if(this.overrunPolicy == OVERRUN_DROP || overdue >= MAXIMUM_CATCH_UP) {
+                    long dropped = (this.overrunPolicy == OVERRUN_DROP) ? overdue : overdue - MAXIMUM_CATCH_UP + 1;
+                    this.droppedIterations += dropped;
+                    deadline += dropped * period;
+                }
+                continue;
+            }
+
+            // park until just before the deadline, then yield until it passes.
+            long remaining;
+            while((remaining = deadline - System.nanoTime()) > 0
+                    && this.iteratorState == PROGRAM_RUNNING && this.simulationThread == self) {
+                if(remaining > SPIN_NANOS) {
+                    LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+                }
+                else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        // hands the grid back, applying any edits queued after the last generation.
+        synchronized (this) {
+            this.simulating = false;
+            drainEdits();
+        }
+    }
+
     /**
      * Algorithm to apply each time an iteration is performed. That is applying
      * the logic from the Grid model and performing the necessary mutation.
+     * Package-private so that it may be benchmarked without a running simulation thread.
+     * Only called by the thread the grid belongs to, so without holding any lock.
      */
-    private void iterate() {
+    void iterate() {
+
+        boolean idled = mutate();
+        if(idled) {
+            this.setChanged();
+            this.notifyObservers();
+        }
+    }
+
+    /**
+     * Mutates the current grid by one iteration, recording it as enabled.
+     * @return Boolean evaluation of whether the iterator has entered the idle state.
+     */
+    private boolean mutate() {
+
+        drainEdits();
+
+        // a snapshot is built from the last only if no edit since has gone unpublished.
+        boolean published = publishedChanges >= 0 && currentGrid.isChangeSetValid()
+                && currentGrid.getChangedCount() == publishedChanges;
 
         if(iteratorSave) {
-            previousIterations.add(Arrays.deepToString(currentGrid.getCurrentShaded()));
+            Object event = SimulationEvents.get().beginHistoryAppend();
+            previousIterations.add(currentGrid);
+            if(event != null) {
+                SimulationEvents.get().commitHistoryAppend(event, iteratorCount, currentGrid.getGridDimensions(),
+                        previousIterations.size(), previousIterations.getMemoryUsage());
+            }
         }
-        currentGrid.getMutation();
+        if(iteratorTimeline) {
+            // records any cell toggled since the last iteration.
+            timeline.record(iteratorCount, currentGrid);
+        }
+        long stride = getStride();
+        if(iteratorCycleDetection) {
+            cycleDetector.update(iteratorCount, currentGrid, stride);
+        }
+        long start = System.nanoTime();
+        if(stride > 1) {
+            if(!hashLifeSeeded) {
+                seedHashLife();
+            }
+            hashLife.getMutation();
+            currentGrid.applyMutation(hashLife);
+            this.iteratorCount += iteratorStepSize;
+        }
+        else {
+            currentGrid.getMutation();
+            this.iteratorCount++; // increase iteration count.
+        }
+        statistics.record(iteratorCount, currentGrid.getPopulation(), currentGrid.getBirths(),
+                currentGrid.getDeaths(), System.nanoTime() - start);
+        if(iteratorTimeline) {
+            timeline.record(iteratorCount, currentGrid);
+        }
+        if(iteratorCycleDetection) {
+            cycleDetector.update(iteratorCount, currentGrid, stride);
+        }
+        publish(published ? 0 : -1);
 
-        this.iteratorCount++; // increase iteration count.
+        // every further generation repeats an earlier one, so stop computing them.
+        if(iteratorIdle && iteratorState == PROGRAM_RUNNING && cycleDetector.getPeriod() > 0) {
+            this.iteratorState = PROGRAM_IDLE;
+            drainEdits();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * <p>
+     * Moves the current grid to any generation. Once a cycle has been found, a generation on
+     * it is reached directly by advancing a copy of the grid by at most the period minus one,
+     * whether before or after the current generation. Any other earlier generation is sought
+     * from the timeline.
+     * </p>
+     * @param generation The generation to jump to.
+     * @return The generation moved to, or -1 if the iterator is running or the generation can
+     *         not be reached.
+     */
+    public long jumpTo(long generation) {
+
+        if(iteratorState == PROGRAM_RUNNING) return -1;
+        // an idle simulation thread may still be handing the grid back.
+        this.endSimulation();
+        synchronized (this) {
+            return simulating ? -1 : jumpToGeneration(generation);
+        }
+    }
+
+    /**
+     * <p>
+     * Moves the current grid to any generation, see jumpTo(). Only called whilst holding the
+     * grid. Whilst stepping through HashLife the period found is a multiple of the step size,
+     * so a copy of the grid is advanced through HashLife by each power of two making up the
+     * offset, rather than one generation at a time.
+     * </p>
+     */
+    private long jumpToGeneration(long generation) {
+
+        long period = cycleDetector.getPeriod();
+        if(period == 0 || generation < cycleDetector.getCycleStart() || cycleDetector.getCycleStart() > iteratorCount) {
+            return (generation <= iteratorCount) ? seekGeneration(generation) : -1;
+        }
+
+        int span = currentGrid.getGridDimensions();
+        long offset = Math.floorMod(generation - iteratorCount, period);
+        LifeEngine phase = (getStride() > 1) ? new HashLife(span) : new BitGrid(span);
+        phase.setRule(currentGrid.getRule());
+        for(int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for(int colIdx = 0; colIdx < span; colIdx++) {
+                if(currentGrid.isCellAlive(rowIdx, colIdx)) {
+                    phase.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+        if(phase instanceof HashLife) {
+            for(int stepLog = 0; stepLog < HashLife.MAXIMUM_STEP_LOG && (offset >>> stepLog) != 0; stepLog++) {
+                if(((offset >>> stepLog) & 1) != 0) {
+                    ((HashLife) phase).setStepLog(stepLog);
+                    phase.getMutation();
+                }
+            }
+            // any remainder in whole steps of the largest size.
+            ((HashLife) phase).setStepLog(HashLife.MAXIMUM_STEP_LOG);
+            for(long step = offset >>> HashLife.MAXIMUM_STEP_LOG; step > 0; step--) {
+                phase.getMutation();
+            }
+        }
+        else {
+            for(long step = offset; step > 0; step--) {
+                phase.getMutation();
+            }
+        }
+        loadState(phase);
+
+        this.iteratorCount = generation;
+        this.hashLifeSeeded = false;
+        cycleDetector.advance(generation, currentGrid);
+        publish();
 
         this.setChanged();
         this.notifyObservers();
+        return generation;
+    }
+
+    /**
+     * <p>
+     * Moves the current grid to the latest recorded generation up to the given generation,
+     * as held by the timeline. Only cells whose state differs are toggled. Generations after
+     * it are kept until the iterator is next run, at which point the run branches from it.
+     * </p>
+     * @param generation The generation to seek to.
+     * @return The generation moved to, or -1 if the iterator is running or no generation up
+     *         to the given one is recorded.
+     */
+    public long seek(long generation) {
+
+        if(iteratorState == PROGRAM_RUNNING) return -1;
+        // an idle simulation thread may still be handing the grid back.
+        this.endSimulation();
+        synchronized (this) {
+            return simulating ? -1 : seekGeneration(generation);
+        }
+    }
+
+    /**
+     * Moves the current grid to a recorded generation, see seek(). Only called whilst holding the grid.
+     */
+    private long seekGeneration(long generation) {
+
+        int span = currentGrid.getGridDimensions();
+        if(timeline.getGridDimensions() != span) return -1;
+
+        long[] frame = new long[BitFrames.wordCount(span)];
+        long reached = timeline.seek(generation, frame);
+        if(reached < 0) return -1;
+
+        for(int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for(int colIdx = 0; colIdx < span; colIdx++) {
+                if(BitFrames.isCellAlive(frame, span, rowIdx, colIdx) != currentGrid.isCellAlive(rowIdx, colIdx)) {
+                    currentGrid.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+        if(cycleDetector.getPeriod() > 0 && reached >= cycleDetector.getCycleStart()) {
+            cycleDetector.advance(reached, currentGrid);
+        }
+        else {
+            cycleDetector.reset();
+        }
+        this.iteratorCount = reached;
+        this.hashLifeSeeded = false;
+        publish();
+
+        this.setChanged();
+        this.notifyObservers();
+        return reached;
+    }
+
+    /**
+     * <p>
+     * Queues an edit of a cell of the current grid. Whilst running the edit is applied by the
+     * simulation thread before the next generation, along with every other queued edit, and
+     * otherwise it is applied at once. Edits of cells outside the grid, as resized since the
+     * edit was queued, are ignored.
+     * </p>
+     * @param rowIdx The row index of the cell.
+     * @param colIdx The column index of the cell.
+     * @param state Grid.STATE_ALIVE or Grid.STATE_DEAD to set the state of the cell, or
+     *              EDIT_TOGGLE to reverse it.
+     */
+    public void queueEdit(int rowIdx, int colIdx, int state) {
+        queueGridEdit(new CellEdit(rowIdx, colIdx, state));
+    }
+
+    /**
+     * <p>
+     * Queues clearing the current grid, bringing every cell to dead at the given span and
+     * clearing the iteration history. Applied as queueEdit() applies edits.
+     * </p>
+     * @param gridDimensions The n dimension of the n by n grid to clear to.
+     */
+    public void queueClear(int gridDimensions) {
+        queueGridEdit(iterator -> iterator.clearGrid(gridDimensions));
+    }
+
+    /**
+     * <p>
+     * Queues loading the state of each cell of an engine onto the current grid, which is
+     * cleared to the span of the engine first. Applied as queueEdit() applies edits.
+     * </p>
+     * @param engine The engine to load, not to be changed once queued.
+     */
+    public void queueLoad(LifeEngine engine) {
+        queueGridEdit(iterator -> {
+            iterator.clearGrid(engine.getGridDimensions());
+            iterator.loadState(engine);
+            return -1;
+        });
+    }
+
+    /**
+     * <p>
+     * Queues setting the type of the current grid, see Grid.setType(). Applied as queueEdit()
+     * applies edits.
+     * </p>
+     * @param type Grid.GRID_TYPE_SHADED or Grid.GRID_TYPE_UNSHADED.
+     */
+    public void queueGridType(int type) {
+        queueGridEdit(iterator -> {
+            iterator.currentGrid.setType(type);
+            return -1;
+        });
+    }
+
+    /**
+     * Queues an edit of the current grid, applying it at once unless the grid belongs to the
+     * simulation thread.
+     */
+    private void queueGridEdit(GridEdit edit) {
+        this.queuedEdits.add(edit);
+        applyEdits();
+    }
+
+    /**
+     * Brings every cell of the current grid to dead at the given span, clearing the iteration history.
+     * @return -1, the grid having been edited as a whole.
+     */
+    private int clearGrid(int gridDimensions) {
+        int[][] state = new int[gridDimensions][gridDimensions];
+        for(int[] row : state) {
+            Arrays.fill(row, Grid.STATE_DEAD);
+        }
+        currentGrid.setGridState(state);
+        previousIterations.clear();
+        return -1;
+    }
+
+    /**
+     * <p>
+     * Applies every queued edit to the current grid in the order queued, unless the grid
+     * belongs to the simulation thread, which applies them itself before the next generation.
+     * </p>
+     * @return The number of cells changed, or -1 if the grid was edited as a whole.
+     */
+    public synchronized int applyEdits() {
+        return simulating ? 0 : drainEdits();
+    }
+
+    /**
+     * <p>
+     * Applies every queued edit to the current grid in the order queued, publishing a new
+     * snapshot should the grid have changed. Only called by the thread the grid belongs to.
+     * </p>
+     * @return The number of cells changed, or -1 if the grid was edited as a whole.
+     */
+    private int drainEdits() {
+
+        int changed = 0;
+        boolean whole = false;
+        GridEdit edit;
+        while((edit = queuedEdits.poll()) != null) {
+            int toggled = edit.apply(this);
+            if(toggled < 0) {
+                whole = true;
+            }
+            else {
+                changed += toggled;
+            }
+        }
+        if(whole) {
+            this.hashLifeSeeded = false;
+            publish(-1);
+            return -1;
+        }
+        if(changed > 0) {
+            publish(publishedChanges);
+        }
+        return changed;
+    }
+
+    /**
+     * <p>
+     * Publishes the current state of the grid as a new snapshot. To be called after editing
+     * the grid directly whilst stopped or idle, so that readers of the snapshot see the edit. HashLife is seeded afresh from
+     * the edited grid before its next step.
+     * </p>
+     */
+    public synchronized void publish() {
+        this.hashLifeSeeded = false;
+        publish(publishedChanges);
+    }
+
+    /**
+     * <p>
+     * Publishes the current state of the grid as a new snapshot. Where the change set allows,
+     * the frame is that of the latest snapshot with each cell changed since toggled, and is
+     * otherwise packed from the grid afresh. The arrays of the snapshot are recycled from
+     * superseded snapshots no longer held by any reader where possible.
+     * </p>
+     * @param fromEntry The first entry of the grid's change set not folded into the latest
+     *                  snapshot, or -1 to pack the frame afresh.
+     */
+    private void publish(int fromEntry) {
+
+        GenerationSnapshot previous = snapshot.get();
+        int span = currentGrid.getGridDimensions();
+        int changedCount = currentGrid.isChangeSetValid() ? currentGrid.getChangedCount() : -1;
+        recycleSnapshots();
+
+        long[] frame = takeFrame(BitFrames.wordCount(span));
+        int[] changes = null;
+        int changesLength = 0;
+        if(previous != null && previous.getGridDimensions() == span && fromEntry >= 0 && changedCount >= fromEntry) {
+            System.arraycopy(previous.getFrame(), 0, frame, 0, frame.length);
+            changesLength = changedCount - fromEntry;
+            changes = takeChanges(changesLength);
+            for(int i = 0; i < changesLength; i++) {
+                int cellIdx = currentGrid.getChangedCell(fromEntry + i);
+                changes[i] = cellIdx;
+                frame[cellIdx >>> 6] ^= 1L << cellIdx;
+            }
+        }
+        else {
+            BitFrames.pack(currentGrid, frame);
+        }
+        this.publishedChanges = changedCount;
+
+        int[] shades = null;
+        if(currentGrid.getType() == Grid.GRID_TYPE_SHADED) {
+            shades = takeShades(span * span);
+            for(int rowIdx = 0, cellIdx = 0; rowIdx < span; rowIdx++) {
+                for(int colIdx = 0; colIdx < span; colIdx++, cellIdx++) {
+                    shades[cellIdx] = currentGrid.getCellShade(rowIdx, colIdx);
+                }
+            }
+        }
+
+        long sequence = (previous == null) ? 0 : previous.getSequence() + 1;
+        snapshot.set(new GenerationSnapshot(iteratorCount, sequence, span, currentGrid.getPopulation(),
+                cycleDetector.getPeriod(), frame, changes, changesLength, shades));
+
+        if(previous != null) {
+            // a snapshot held for longer than the ring is left to the garbage collector.
+            retiredSnapshots.addLast(previous);
+            if(retiredSnapshots.size() > SNAPSHOT_RING) {
+                retiredSnapshots.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Reclaims each superseded snapshot no longer held by any reader, keeping its arrays as
+     * spares for the next snapshots.
+     * </p>
+     */
+    private void recycleSnapshots() {
+
+        Iterator<GenerationSnapshot> retired = retiredSnapshots.iterator();
+        while(retired.hasNext()) {
+            GenerationSnapshot superseded = retired.next();
+            if(superseded.reclaim()) {
+                retired.remove();
+                keepSpare(spareFrames, superseded.getFrame());
+                keepSpare(spareChanges, superseded.getChanges());
+                keepSpare(spareShades, superseded.getShades());
+            }
+        }
+    }
+
+    /**
+     * Keeps an array as a spare, unless there is none or SNAPSHOT_RING spares are kept already.
+     */
+    private static <T> void keepSpare(ArrayDeque<T> spares, T array) {
+        if(array != null && spares.size() < SNAPSHOT_RING) {
+            spares.push(array);
+        }
+    }
+
+    /**
+     * @return A spare frame of the given number of words, or a new one if there is none.
+     */
+    private long[] takeFrame(int words) {
+        long[] frame;
+        while((frame = spareFrames.poll()) != null) {
+            if(frame.length == words) return frame;
+        }
+        return new long[words];
+    }
+
+    /**
+     * @return A spare change set of at least the given length, or a new one if there is none.
+     */
+    private int[] takeChanges(int length) {
+        int[] changes;
+        while((changes = spareChanges.poll()) != null) {
+            if(changes.length >= length) return changes;
+        }
+        // leaving room for slightly longer change sets to come.
+        return new int[length + (length >>> 1)];
+    }
+
+    /**
+     * @return A spare array of shades of the given length, or a new one if there is none.
+     */
+    private int[] takeShades(int length) {
+        int[] shades;
+        while((shades = spareShades.poll()) != null) {
+            if(shades.length == length) return shades;
+        }
+        return new int[length];
+    }
+
+    /**
+     * <p>
+     * Acquires the latest published snapshot of the current grid, which is held for the
+     * caller until its release() is called, its arrays being recycled only afterwards.
+     * </p>
+     * @return The snapshot, which may be read from any thread without locking, or null if none
+     *         has been published.
+     */
+    public GenerationSnapshot acquireSnapshot() {
+        GenerationSnapshot latest;
+        do {
+            latest = this.snapshot.get();
+        } while(latest != null && !latest.pin());
+        return latest;
+    }
+
+    /**
+     * Toggles each cell of the current grid whose state differs from that of an engine.
+     */
+    private void loadState(LifeEngine engine) {
+        int span = currentGrid.getGridDimensions();
+        for(int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for(int colIdx = 0; colIdx < span; colIdx++) {
+                if(engine.isCellAlive(rowIdx, colIdx) != currentGrid.isCellAlive(rowIdx, colIdx)) {
+                    currentGrid.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Moves the current grid back to the recorded generation before the current one.
+     * </p>
+     * @return The generation moved to, or -1 if there is no earlier recorded generation.
+     */
+    public long rewind() {
+        return (iteratorCount > 0) ? seek(iteratorCount - 1) : -1;
+    }
+
+    /**
+     * @return The number of generations the next iteration advances by, the step size unless
+     *         the rule includes B0, under which single generations are computed instead.
+     */
+    private long getStride() {
+        return currentGrid.getRule().isBirthOnZero() ? 1 : iteratorStepSize;
+    }
+
+    /**
+     * <p>
+     * Loads the alive cells of the current grid into the HashLife universe. The universe
+     * is reused where the span allows so that its memoized results carry over.
+     * </p>
+     */
+    private void seedHashLife() {
+
+        int span = currentGrid.getGridDimensions();
+        if(hashLife == null || hashLife.getGridDimensions() != span) {
+            hashLife = new HashLife(span);
+        }
+        else {
+            hashLife.clear();
+        }
+        hashLife.setStepLog(Long.numberOfTrailingZeros(iteratorStepSize));
+        hashLife.setRule(currentGrid.getRule());
+
+        for(int rowIdx = 0; rowIdx < span; rowIdx++) {
+            for(int colIdx = 0; colIdx < span; colIdx++) {
+                if(currentGrid.isCellAlive(rowIdx, colIdx)) {
+                    hashLife.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+        this.hashLifeSeeded = true;
     }
 
     /**
@@ -186,26 +1008,208 @@ public class GridIterator extends Observable {
     }
 
     /**
-     * Setter method for iteratorFrequency.
+     * Setter method for iteratorFrequency, taking effect from the next iteration.
      * @param frequency The frequency separation in milliseconds.
      */
     public void setIteratorFrequency(int frequency) {
-        this.iteratorFrequency = frequency;
-        // if running, update the timer with the new frequency.
-        if(this.iteratorState == PROGRAM_RUNNING) {
+        this.iteratorFrequency = Math.max(MINIMUM_FREQUENCY, frequency);
+    }
+
+    /**
+     * <p>
+     * Setter method for iteratorUnthrottled. When enabled iterations are run back to back,
+     * as fast as they can be computed, regardless of the iteration frequency.
+     * </p>
+     * @param unthrottled Boolean flag for enabling or disabling.
+     */
+    public void setUnthrottled(boolean unthrottled) {
+        this.iteratorUnthrottled = unthrottled;
+    }
+
+    /**
+     * Getter method for iteratorUnthrottled.
+     * @return Boolean evaluation of whether iterations are run back to back.
+     */
+    public boolean isUnthrottled() {
+        return this.iteratorUnthrottled;
+    }
+
+    /**
+     * Setter method for the policy followed when an iteration overruns.
+     * @param overrunPolicy The policy value, see OVERRUN_DROP and OVERRUN_CATCH_UP.
+     */
+    public void setOverrunPolicy(int overrunPolicy) {
+        this.overrunPolicy = overrunPolicy;
+    }
+
+    /**
+     * Getter method for the policy followed when an iteration overruns.
+     * @return The policy value, see OVERRUN_DROP and OVERRUN_CATCH_UP.
+     */
+    public int getOverrunPolicy() {
+        return this.overrunPolicy;
+    }
+
+    /**
+     * Getter method for the number of iterations dropped as overrun iterations delayed them.
+     * @return The count of dropped iterations.
+     */
+    public long getDroppedIterations() {
+        return this.droppedIterations;
+    }
+
+    /**
+     * Getter method for the histogram of the time taken by each iteration of the simulation thread.
+     * @return A reference to the iterationLatency histogram.
+     */
+    public LatencyHistogram getIterationLatency() {
+        return this.iterationLatency;
+    }
+
+    /**
+     * Getter method for the statistics of each generation, which may be registered as an MBean.
+     * @return A reference to the statistics object.
+     */
+    public SimulationStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * <p>
+     * Setter method for iteratorStepSize, the number of generations advanced by each
+     * iteration. Values which are not a power of two are rounded down to the nearest power of two.
+     * Whilst running the step size is changed from the next iteration on.
+     * </p>
+     * <p>
+     * With a step size above one the grid is treated as a window onto an unbounded universe
+     * rather than wrapping at its edges, and is advanced through HashLife. Under a B0 rule,
+     * which HashLife can not follow, the grid is advanced one generation at a time instead.
+     * </p>
+     * @param stepSize The number of generations to advance by per iteration.
+     * @throws IllegalArgumentException If stepSize is below one or above 2^HashLife.MAXIMUM_STEP_LOG.
+     */
+    public void setStepSize(long stepSize) {
+        if(stepSize < 1 || stepSize > 1L << HashLife.MAXIMUM_STEP_LOG) {
+            throw new IllegalArgumentException("Step size must range from 1 to 2^" + HashLife.MAXIMUM_STEP_LOG + ": " + stepSize);
+        }
+        long size = Long.highestOneBit(stepSize);
+        // queued, as the HashLife universe belongs to the simulation thread whilst running.
+        queueGridEdit(iterator -> {
+            if(iterator.iteratorStepSize != size) {
+                // a cycle found at the previous step size may not be reached at the new one.
+                iterator.cycleDetector.reset();
+            }
+            iterator.iteratorStepSize = size;
+            if(size == 1) {
+                iterator.hashLifeSeeded = false;
+            }
+            else if(iterator.hashLifeSeeded) {
+                iterator.hashLife.setStepLog(Long.numberOfTrailingZeros(size));
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * Getter method for iteratorStepSize.
+     * @return The number of generations advanced by each iteration.
+     */
+    public long getStepSize() {
+        return this.iteratorStepSize;
+    }
+
+    /**
+     * <p>
+     * Sets the rule the current grid follows from the next generation on, see Rule. Cycles
+     * found under the previous rule may not repeat under the new one, so the cycle detector
+     * is reset and an idle iterator is run again.
+     * </p>
+     * @param rule The rule to follow.
+     */
+    public void setRule(Rule rule) {
+        queueGridEdit(iterator -> {
+            iterator.currentGrid.setRule(rule);
+            iterator.cycleDetector.reset();
+            iterator.hashLifeSeeded = false;
+            return 0;
+        });
+        if(iteratorState == PROGRAM_IDLE) {
             this.run();
         }
     }
 
     /**
-     * Getter method for previousIterations ArrayList containing previous iterations.
+     * Getter method for the rule the current grid follows.
+     * @return The rule in use.
+     */
+    public Rule getRule() {
+        return currentGrid.getRule();
+    }
+
+    /**
+     * Getter method for previousIterations IterationHistory containing previous iterations.
      * @return Returns a reference to the previousIterations object.
      */
-    public ArrayList<String> getPreviousIterations() {
+    public IterationHistory getPreviousIterations() {
         return this.previousIterations;
     }
 
 
+    /**
+     * Getter method for the timeline holding the state of the grid at past generations.
+     * @return Returns a reference to the timeline object.
+     */
+    public Timeline getTimeline() {
+        return this.timeline;
+    }
+
+    /**
+     * <p>
+     * Setter method for iteratorTimeline. Toggles recording of each generation to the timeline.
+     * </p>
+     * @param timelineState Boolean flag for enabling or disabling.
+     */
+    public void enableTimeline(boolean timelineState) {
+        this.iteratorTimeline = timelineState;
+    }
+
+    /**
+     * Getter method for the cycle detector hashing each generation.
+     * @return Returns a reference to the cycleDetector object.
+     */
+    public CycleDetector getCycleDetector() {
+        return this.cycleDetector;
+    }
+
+    /**
+     * <p>
+     * Setter method for iteratorCycleDetection. Toggles hashing each generation to find cycles,
+     * which idling and jumping along a cycle rely on. The cycle detector is reset whenever
+     * the toggle changes, taking effect from the next iteration whilst running.
+     * </p>
+     * @param detectionState Boolean flag for enabling or disabling.
+     */
+    public void enableCycleDetection(boolean detectionState) {
+        queueGridEdit(iterator -> {
+            if(iterator.iteratorCycleDetection != detectionState) {
+                iterator.iteratorCycleDetection = detectionState;
+                iterator.cycleDetector.reset();
+            }
+            return 0;
+        });
+    }
+
+    /**
+     * <p>
+     * Setter method for iteratorIdle. When enabled the iterator enters the PROGRAM_IDLE state
+     * as soon as a cycle is found, ceasing to compute and notify of generations.
+     * </p>
+     * @param idleState Boolean flag for enabling or disabling.
+     */
+    public void enableIdling(boolean idleState) {
+        this.iteratorIdle = idleState;
+    }
+
     /**
      * <p>
      * Setter method for iteratorSave. Toggles saving to previous iterations array list.
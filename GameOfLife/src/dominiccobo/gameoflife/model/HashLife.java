@@ -0,0 +1,619 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Models an unbounded universe of cells using Bill Gosper's HashLife algorithm,
+ *  able to advance repetitive patterns by 2^k generations in a single step.
+ *  </p>
+ *  <p>
+ *  The universe is held as a quadtree of canonical (hash-consed) nodes, so equal
+ *  regions of space share a single node, and the future of the centre of each
+ *  node is memoized on the node itself. A bounded number of nodes is kept, once
+ *  the limit is passed nodes no longer reachable from the universe are collected.
+ *  </p>
+ *  <p>
+ *  Unlike Grid the universe does not wrap. The n by n grid dimensions only describe
+ *  the window, with its top left cell at the origin, through which cells are read
+ *  and toggled; cells outside of it keep evolving.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class HashLife implements LifeEngine {
+
+    /**
+     * Constant detailing the default number of nodes kept before a garbage collection
+     * of the node cache is performed.
+     */
+    public static final int DEFAULT_NODE_CACHE_LIMIT = 1 << 20;
+
+    /**
+     * Constant detailing the largest base 2 logarithm of the number of generations advanced by
+     * a single mutation. The root grows to three levels above the step, and the count of
+     * generations elapsed has to stay well within a long.
+     */
+    public static final int MAXIMUM_STEP_LOG = 32;
+
+    /**
+     * Constant detailing the smallest level of the root node, a 8 by 8 square.
+     */
+    private static final int MINIMUM_ROOT_LEVEL = 3;
+
+    /**
+     * <p>
+     * A square of 2^level by 2^level cells, split into four quadrants of the level below.
+     * Level 0 nodes are single cells and have no quadrants.
+     * </p>
+     */
+    private static final class Node {
+
+        private final Node nw, ne, sw, se;
+        private final int level;
+        private final long population;
+        private final int hash;
+
+        /**
+         * The centre of this node advanced by the current step, memoized once computed.
+         */
+        private Node result;
+
+        /**
+         * The next node in the same bucket of the node table.
+         */
+        private Node next;
+
+        /**
+         * Flag used while collecting unreachable nodes.
+         */
+        private boolean marked;
+
+        private Node(int alive) {
+            this.nw = this.ne = this.sw = this.se = null;
+            this.level = 0;
+            this.population = alive;
+            this.hash = alive;
+        }
+
+        private Node(Node nw, Node ne, Node sw, Node se, int hash) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Instance variables holding the two canonical single cell nodes.
+     */
+    private final Node deadCell = new Node(0);
+    private final Node aliveCell = new Node(1);
+
+    /**
+     * Instance variable holding the canonical empty node of each level, indexed by level.
+     */
+    private Node[] emptyNodes = new Node[64];
+
+    /**
+     * Instance variable holding the hash table of canonical nodes, chained through Node.next.
+     */
+    private Node[] table = new Node[1 << 12];
+
+    /**
+     * Instance variable detailing the number of nodes held in the table.
+     */
+    private int nodeCount = 0;
+
+    /**
+     * Instance variable detailing the number of nodes above which a collection is performed.
+     */
+    private int nodeCacheLimit;
+
+    /**
+     * Instance variable holding the quadtree of the whole universe, centred on the origin.
+     */
+    private Node root;
+
+    /**
+     * Instance variable detailing the base 2 logarithm of the number of generations a
+     * single mutation advances the universe by.
+     */
+    private int stepLog = 0;
+
+    /**
+     * Instance variable detailing the count of generations elapsed.
+     */
+    private long generation = 0;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the window cells are accessed through.
+     */
+    private int gridDimensions;
+
+    /**
+     * Instance variable referencing the rule mutations follow.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated universe with the default node cache limit.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square window cells are accessed through.
+     */
+    public HashLife(int gridSpan) {
+        this(gridSpan, DEFAULT_NODE_CACHE_LIMIT);
+    }
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated universe.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square window cells are accessed through.
+     * @param nodeCacheLimit The number of nodes above which unreachable nodes are collected.
+     */
+    public HashLife(int gridSpan, int nodeCacheLimit) {
+        this.gridDimensions = gridSpan;
+        this.nodeCacheLimit = nodeCacheLimit;
+        this.clear();
+    }
+
+    /**
+     * <p>
+     * Empties the universe and resets the generation count. Memoized results are kept
+     * so that patterns seen before are advanced quickly again.
+     * </p>
+     */
+    public void clear() {
+        this.root = emptyNode(MINIMUM_ROOT_LEVEL);
+        this.generation = 0;
+    }
+
+    /**
+     * <p>
+     * Advances the universe by 2^k generations, where k is the step exponent.
+     * </p>
+     * <p>
+     * The root is first grown until the pattern sits well inside its centre, so that nothing
+     * travelling at the speed of light can escape the centre square returned by the step.
+     * </p>
+     */
+    @Override
+    public void getMutation() {
+
+        // a margin of three levels keeps the step at most an eighth of the root width.
+        while (this.root.level < this.stepLog + 3 || !isPadded(this.root)) {
+            this.root = expand(this.root);
+        }
+        this.root = successor(expand(this.root));
+        this.generation += 1L << this.stepLog;
+
+        if (this.nodeCount > this.nodeCacheLimit) {
+            collect();
+        }
+    }
+
+    /**
+     * <p>
+     * Sets the number of generations advanced by each mutation to 2^stepLog. Memoized
+     * results depend on the step, so they are discarded when it changes.
+     * </p>
+     *
+     * @param stepLog The base 2 logarithm of the number of generations per mutation.
+     * @throws IllegalArgumentException If stepLog is negative or above MAXIMUM_STEP_LOG.
+     */
+    public void setStepLog(int stepLog) {
+        if (stepLog < 0 || stepLog > MAXIMUM_STEP_LOG) {
+            throw new IllegalArgumentException("Step log must range from 0 to " + MAXIMUM_STEP_LOG + ": " + stepLog);
+        }
+        if (stepLog == this.stepLog) return;
+        this.stepLog = stepLog;
+        forgetResults();
+    }
+
+    /**
+     * <p>
+     * Sets the rule mutations follow. Memoized results depend on the rule, so they are
+     * discarded when it changes. Rules under which a dead cell without alive neighbours is
+     * born would fill the unbounded universe, so they are rejected.
+     * </p>
+     * @param rule The rule to follow.
+     * @throws IllegalArgumentException If the rule includes B0.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        if (rule.isBirthOnZero()) {
+            throw new IllegalArgumentException("An unbounded universe can not follow a B0 rule: " + rule);
+        }
+        if (rule.equals(this.rule)) return;
+        this.rule = rule;
+        forgetResults();
+    }
+
+    /**
+     * Getter method for the rule mutations follow.
+     * @return The rule in use.
+     */
+    @Override
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * Discards the memoized result of every node.
+     */
+    private void forgetResults() {
+        for (Node bucket : this.table) {
+            for (Node node = bucket; node != null; node = node.next) {
+                node.result = null;
+            }
+        }
+    }
+
+    /**
+     * Getter method for the step exponent.
+     * @return The base 2 logarithm of the number of generations per mutation.
+     */
+    public int getStepLog() {
+        return this.stepLog;
+    }
+
+    /**
+     * Getter method for the count of generations elapsed.
+     * @return The count of generations elapsed since the universe was last cleared.
+     */
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Getter method for the number of nodes currently held in the node cache.
+     * @return The count of cached nodes.
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Setter method for the node cache limit.
+     * @param nodeCacheLimit The number of nodes above which unreachable nodes are collected.
+     */
+    public void setNodeCacheLimit(int nodeCacheLimit) {
+        this.nodeCacheLimit = nodeCacheLimit;
+    }
+
+    /**
+     * <p>
+     * Returns the boolean alive / dead cell status of a specific cell of the window.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to retrieve the status for.
+     * @param colIdx The column (2d) index of the cell to retrieve the status for.
+     * @return Boolean evaluation of whether a cell is alive or dead.
+     */
+    @Override
+    public boolean isCellAlive(int rowIdx, int colIdx) {
+
+        long half = 1L << (this.root.level - 1);
+        long x = colIdx + half;
+        long y = rowIdx + half;
+        if (x < 0 || y < 0 || x >= 2 * half || y >= 2 * half) return false;
+
+        Node node = this.root;
+        while (node.level > 0) {
+            long quadrant = 1L << (node.level - 1);
+            boolean east = x >= quadrant;
+            boolean south = y >= quadrant;
+            if (east) x -= quadrant;
+            if (south) y -= quadrant;
+            node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+        }
+        return node == this.aliveCell;
+    }
+
+    /**
+     * <p>
+     * Toggles the state of a cell of the window.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to apply the toggle to.
+     * @param colIdx The column (2d) index of the cell to apply the toggle to.
+     */
+    @Override
+    public void toggleState(int rowIdx, int colIdx) {
+
+        boolean alive = isCellAlive(rowIdx, colIdx);
+
+        // grow the universe until the cell falls within it.
+        while (Math.max(Math.abs((long) rowIdx), Math.abs((long) colIdx)) >= (1L << (this.root.level - 1)) - 1) {
+            this.root = expand(this.root);
+        }
+
+        long half = 1L << (this.root.level - 1);
+        this.root = setCell(this.root, colIdx + half, rowIdx + half, !alive);
+    }
+
+    /**
+     * <p>
+     * Returns the integer n by n dimensions of the window cells are accessed through.
+     * </p>
+     * @return The integer value of the window dimension.
+     */
+    @Override
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * <p>
+     * Returns the number of alive cells in the whole universe, including those outside
+     * of the window.
+     * </p>
+     * @return The count of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        return this.root.population;
+    }
+
+    /**
+     * <p>
+     * Returns the node with the cell at the given offset from its top left corner set.
+     * </p>
+     */
+    private Node setCell(Node node, long x, long y, boolean alive) {
+
+        if (node.level == 0) return alive ? this.aliveCell : this.deadCell;
+
+        long quadrant = 1L << (node.level - 1);
+        if (y < quadrant) {
+            if (x < quadrant) return join(setCell(node.nw, x, y, alive), node.ne, node.sw, node.se);
+            return join(node.nw, setCell(node.ne, x - quadrant, y, alive), node.sw, node.se);
+        }
+        if (x < quadrant) return join(node.nw, node.ne, setCell(node.sw, x, y - quadrant, alive), node.se);
+        return join(node.nw, node.ne, node.sw, setCell(node.se, x - quadrant, y - quadrant, alive));
+    }
+
+    /**
+     * <p>
+     * Returns the canonical node made up of the four given quadrants, creating it if
+     * it has not been seen before.
+     * </p>
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+
+        int hash = ((nw.hash * 31 + ne.hash) * 31 + sw.hash) * 31 + se.hash;
+        hash ^= (hash >>> 16);
+
+        int bucket = hash & (this.table.length - 1);
+        for (Node node = this.table[bucket]; node != null; node = node.next) {
+            if (node.nw == nw && node.ne == ne && node.sw == sw && node.se == se) return node;
+        }
+
+        Node node = new Node(nw, ne, sw, se, hash);
+        node.next = this.table[bucket];
+        this.table[bucket] = node;
+
+        if (++this.nodeCount > this.table.length) {
+            resize(this.table.length * 2);
+        }
+        return node;
+    }
+
+    /**
+     * <p>
+     * Rehashes every node into a table of the given length.
+     * </p>
+     */
+    private void resize(int length) {
+
+        Node[] old = this.table;
+        this.table = new Node[length];
+        for (Node bucket : old) {
+            Node node = bucket;
+            while (node != null) {
+                Node following = node.next;
+                int idx = node.hash & (length - 1);
+                node.next = this.table[idx];
+                this.table[idx] = node;
+                node = following;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the canonical node of the given level containing no alive cells.
+     * </p>
+     */
+    private Node emptyNode(int level) {
+
+        if (level == 0) return this.deadCell;
+        if (this.emptyNodes[level] == null) {
+            Node quadrant = emptyNode(level - 1);
+            this.emptyNodes[level] = join(quadrant, quadrant, quadrant, quadrant);
+        }
+        return this.emptyNodes[level];
+    }
+
+    /**
+     * <p>
+     * Returns a node one level up with the given node at its centre, surrounded by empty space.
+     * </p>
+     */
+    private Node expand(Node node) {
+
+        Node border = emptyNode(node.level - 1);
+        return join(join(border, border, border, node.nw),
+                    join(border, border, node.ne, border),
+                    join(border, node.sw, border, border),
+                    join(node.se, border, border, border));
+    }
+
+    /**
+     * <p>
+     * Evaluates whether every alive cell of a node lies within its centre square.
+     * </p>
+     */
+    private static boolean isPadded(Node node) {
+        return node.nw.se.population + node.ne.sw.population + node.sw.ne.population
+                + node.se.nw.population == node.population;
+    }
+
+    /**
+     * <p>
+     * Returns the centre square of a node, half of its width, without advancing it.
+     * </p>
+     */
+    private Node centre(Node node) {
+        return join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+    }
+
+    /**
+     * <p>
+     * Returns the centre square of a node advanced by 2^min(level - 2, stepLog) generations.
+     * </p>
+     * <p>
+     * The node is split into nine overlapping squares of the level below. When the full step
+     * of the node can be taken each of the nine is advanced, otherwise only their centres are
+     * taken. They are then combined into four overlapping squares which are each advanced,
+     * giving the four quadrants of the result.
+     * </p>
+     */
+    private Node successor(Node node) {
+
+        if (node.population == 0) return node.nw;
+        if (node.result != null) return node.result;
+
+        Node result;
+        if (node.level == 2) {
+            result = baseSuccessor(node);
+        }
+        else {
+            Node n00 = node.nw;
+            Node n01 = join(node.nw.ne, node.ne.nw, node.nw.se, node.ne.sw);
+            Node n02 = node.ne;
+            Node n10 = join(node.nw.sw, node.nw.se, node.sw.nw, node.sw.ne);
+            Node n11 = join(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+            Node n12 = join(node.ne.sw, node.ne.se, node.se.nw, node.se.ne);
+            Node n20 = node.sw;
+            Node n21 = join(node.sw.ne, node.se.nw, node.sw.se, node.se.sw);
+            Node n22 = node.se;
+
+            if (this.stepLog >= node.level - 2) {
+                n00 = successor(n00); n01 = successor(n01); n02 = successor(n02);
+                n10 = successor(n10); n11 = successor(n11); n12 = successor(n12);
+                n20 = successor(n20); n21 = successor(n21); n22 = successor(n22);
+            }
+            else {
+                n00 = centre(n00); n01 = centre(n01); n02 = centre(n02);
+                n10 = centre(n10); n11 = centre(n11); n12 = centre(n12);
+                n20 = centre(n20); n21 = centre(n21); n22 = centre(n22);
+            }
+
+            result = join(successor(join(n00, n01, n10, n11)),
+                          successor(join(n01, n02, n11, n12)),
+                          successor(join(n10, n11, n20, n21)),
+                          successor(join(n11, n12, n21, n22)));
+        }
+        node.result = result;
+        return result;
+    }
+
+    /**
+     * <p>
+     * Advances the centre 2 by 2 cells of a 4 by 4 node by a single generation.
+     * </p>
+     */
+    private Node baseSuccessor(Node node) {
+
+        // gather the 16 cells row by row, with bit (row * 4 + col) holding the cell.
+        int cells = 0;
+        Node[] quadrants = { node.nw, node.ne, node.sw, node.se };
+        for (int q = 0; q < 4; q++) {
+            Node quadrant = quadrants[q];
+            int rowOffset = (q / 2) * 2, colOffset = (q % 2) * 2;
+            cells |= (int) quadrant.nw.population << (rowOffset * 4 + colOffset);
+            cells |= (int) quadrant.ne.population << (rowOffset * 4 + colOffset + 1);
+            cells |= (int) quadrant.sw.population << ((rowOffset + 1) * 4 + colOffset);
+            cells |= (int) quadrant.se.population << ((rowOffset + 1) * 4 + colOffset + 1);
+        }
+
+        Node[] centre = new Node[4];
+        for (int i = 0; i < 4; i++) {
+            int row = 1 + i / 2, col = 1 + i % 2;
+            int aliveCount = 0;
+            for (int dRow = -1; dRow <= 1; dRow++) {
+                for (int dCol = -1; dCol <= 1; dCol++) {
+                    if (dRow == 0 && dCol == 0) continue;
+                    aliveCount += (cells >>> ((row + dRow) * 4 + col + dCol)) & 1;
+                }
+            }
+            boolean alive = ((cells >>> (row * 4 + col)) & 1) != 0;
+            centre[i] = this.rule.next(alive, aliveCount) ? this.aliveCell : this.deadCell;
+        }
+        return join(centre[0], centre[1], centre[2], centre[3]);
+    }
+
+    /**
+     * <p>
+     * Removes every node no longer reachable from the universe from the node table, and
+     * forgets memoized results pointing at removed nodes.
+     * </p>
+     */
+    private void collect() {
+
+        mark(this.root);
+        for (Node empty : this.emptyNodes) {
+            if (empty != null) mark(empty);
+        }
+
+        int kept = 0;
+        for (int i = 0; i < this.table.length; i++) {
+            Node survivors = null;
+            Node node = this.table[i];
+            while (node != null) {
+                Node following = node.next;
+                if (node.marked) {
+                    node.next = survivors;
+                    survivors = node;
+                    kept++;
+                }
+                node = following;
+            }
+            this.table[i] = survivors;
+        }
+
+        for (Node bucket : this.table) {
+            for (Node node = bucket; node != null; node = node.next) {
+                if (node.result != null && !node.result.marked) node.result = null;
+            }
+        }
+        for (Node bucket : this.table) {
+            for (Node node = bucket; node != null; node = node.next) {
+                node.marked = false;
+            }
+        }
+        this.nodeCount = kept;
+    }
+
+    /**
+     * <p>
+     * Marks a node and every node beneath it as reachable.
+     * </p>
+     */
+    private static void mark(Node node) {
+
+        if (node.marked || node.level == 0) return;
+        node.marked = true;
+        mark(node.nw);
+        mark(node.ne);
+        mark(node.sw);
+        mark(node.se);
+    }
+}
@@ -0,0 +1,414 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ *  <p>
+ *  Bounded store of the previous iterations of a grid, that is the signed age of each
+ *  cell at each saved mutation, held compactly so that long runs may be saved.
+ *  </p>
+ *  <p>
+ *  The oldest retained iteration is held in full. Each later iteration is held as the
+ *  cells which changed state since the iteration before it, either as a list of cell
+ *  indexes or as a bit packed frame of flipped cells, whichever is smaller. The ages of
+ *  every other cell follow from the mutation rules, the age of a cell which kept its
+ *  state advancing by one. An iteration whose ages do not follow, as happens when cells
+ *  are toggled between iterations, is held in full instead, so every iteration is
+ *  restored exactly.
+ *  </p>
+ *  <p>
+ *  Iterations are held in a ring buffer bounded by a memory cap. Once the cap is exceeded
+ *  the oldest iterations are folded into the one after them and dropped.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class IterationHistory implements Iterable<int[][]> {
+
+    /**
+     * Constant detailing the default memory cap of a history, in bytes.
+     */
+    public static final long DEFAULT_MEMORY_CAP = 64L << 20;
+
+    /**
+     * Constant detailing the approximate memory overhead of each array and held iteration,
+     * in bytes, used when estimating memory usage.
+     */
+    private static final int OBJECT_OVERHEAD = 16;
+
+    /**
+     * <p>
+     * A single held iteration. Exactly one of its fields is set: the signed age of each cell
+     * for an iteration held in full, the indexes of the cells which changed state, or the
+     * bit packed frame of the cells which changed state as described by BitFrames.
+     * </p>
+     */
+    private static final class Entry {
+
+        private final int[][] ages;
+        private final int[] changedCells;
+        private final long[] flippedCells;
+
+        private Entry(int[][] ages, int[] changedCells, long[] flippedCells) {
+            this.ages = ages;
+            this.changedCells = changedCells;
+            this.flippedCells = flippedCells;
+        }
+
+        private long getMemoryUsage() {
+            if (this.ages != null) {
+                return OBJECT_OVERHEAD * 2 + (long) this.ages.length * (OBJECT_OVERHEAD + 4L * this.ages.length);
+            }
+            if (this.changedCells != null) {
+                return OBJECT_OVERHEAD * 2 + 4L * this.changedCells.length;
+            }
+            return OBJECT_OVERHEAD * 2 + 8L * this.flippedCells.length;
+        }
+    }
+
+    /**
+     * Instance variable holding the retained iterations, oldest first. The oldest is always
+     * held in full.
+     */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * Instance variable holding the signed age of each cell of the newest iteration, against
+     * which the next iteration is encoded.
+     */
+    private int[][] newest;
+
+    /**
+     * Instance variable holding the bit packed frame of the newest iteration.
+     */
+    private long[] newestFrame;
+
+    /**
+     * Instance variable holding the bit packed frame being encoded, swapped with newestFrame.
+     */
+    private long[] scratchFrame;
+
+    /**
+     * Instance variable holding the indexes of the cells found to change state whilst encoding.
+     */
+    private int[] scratchChanges;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the held iterations.
+     */
+    private int gridDimensions = 0;
+
+    /**
+     * Instance variable detailing the number of iterations dropped from the start of the history.
+     */
+    private long droppedCount = 0;
+
+    /**
+     * Instance variables detailing the memory cap and the estimated memory usage, in bytes.
+     */
+    private long memoryCap = DEFAULT_MEMORY_CAP;
+    private long memoryUsage = 0;
+
+    /**
+     * <p>
+     * Appends the current state of a grid as the newest iteration, first clearing the history
+     * if the grid's dimensions differ from those of the held iterations.
+     * </p>
+     *
+     * @param grid The grid to append the current state of.
+     */
+    public synchronized void add(Grid grid) {
+
+        int[][] shaded = grid.getCurrentShaded();
+        int span = grid.getGridDimensions();
+
+        if (this.entries.isEmpty() || span != this.gridDimensions || this.newest == null) {
+            clear();
+            this.gridDimensions = span;
+            this.newest = new int[span][span];
+            this.newestFrame = new long[BitFrames.wordCount(span)];
+            this.scratchFrame = new long[this.newestFrame.length];
+            this.scratchChanges = new int[span * span];
+
+            copyAges(shaded, this.newest);
+            BitFrames.pack(grid, this.newestFrame);
+            append(new Entry(copyAges(shaded, new int[span][span]), null, null));
+            return;
+        }
+
+        // gather the changed cells, checking every age follows from the iteration before.
+        boolean agesFollow = true;
+        int changedCount = 0;
+        int cellIdx = 0;
+        long[] frame = this.scratchFrame;
+        Arrays.fill(frame, 0);
+
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            int[] row = shaded[rowIdx];
+            int[] newestRow = this.newest[rowIdx];
+            for (int colIdx = 0; colIdx < span; colIdx++, cellIdx++) {
+                int value = row[colIdx];
+                int previous = newestRow[colIdx];
+                boolean changed = (value > 0) != (previous > 0);
+
+                if (value > 0) frame[cellIdx >>> 6] |= 1L << cellIdx;
+                if (changed) this.scratchChanges[changedCount++] = cellIdx;
+                if (value != nextAge(previous, changed)) agesFollow = false;
+
+                newestRow[colIdx] = value;
+            }
+        }
+
+        Entry entry;
+        if (!agesFollow) {
+            entry = new Entry(copyAges(shaded, new int[span][span]), null, null);
+        }
+        else if (4L * changedCount < 8L * frame.length) {
+            entry = new Entry(null, Arrays.copyOf(this.scratchChanges, changedCount), null);
+        }
+        else {
+            long[] flipped = new long[frame.length];
+            for (int w = 0; w < frame.length; w++) {
+                flipped[w] = frame[w] ^ this.newestFrame[w];
+            }
+            entry = new Entry(null, null, flipped);
+        }
+
+        this.scratchFrame = this.newestFrame;
+        this.newestFrame = frame;
+        append(entry);
+    }
+
+    /**
+     * <p>
+     * Appends a held iteration, dropping the oldest iterations whilst over the memory cap.
+     * The newest iteration is always retained.
+     * </p>
+     */
+    private void append(Entry entry) {
+
+        this.entries.addLast(entry);
+        this.memoryUsage += entry.getMemoryUsage();
+
+        while (this.memoryUsage + getFixedMemoryUsage() > this.memoryCap && this.entries.size() > 1) {
+            Entry oldest = this.entries.removeFirst();
+            Entry next = this.entries.removeFirst();
+            this.memoryUsage -= oldest.getMemoryUsage() + next.getMemoryUsage();
+
+            // fold the oldest into the next, reusing its ages as the next is restored in full.
+            if (next.ages == null) {
+                applyEntry(next, oldest.ages);
+                next = new Entry(oldest.ages, null, null);
+            }
+            this.entries.addFirst(next);
+            this.memoryUsage += next.getMemoryUsage();
+            this.droppedCount++;
+        }
+    }
+
+    /**
+     * <p>
+     * Advances the given ages, those of the iteration before an entry, to those of the entry.
+     * </p>
+     *
+     * @param entry The held iteration to advance to.
+     * @param ages The signed age of each cell, updated in place.
+     */
+    private void applyEntry(Entry entry, int[][] ages) {
+
+        int span = ages.length;
+        if (entry.ages != null) {
+            copyAges(entry.ages, ages);
+            return;
+        }
+
+        for (int[] row : ages) {
+            for (int colIdx = 0; colIdx < span; colIdx++) {
+                row[colIdx] = nextAge(row[colIdx], false);
+            }
+        }
+        // the flipped cells were aged above as if unchanged, they are reset instead.
+        if (entry.changedCells != null) {
+            for (int cellIdx : entry.changedCells) {
+                int[] row = ages[cellIdx / span];
+                row[cellIdx % span] = (row[cellIdx % span] > 0) ? Grid.STATE_DEAD : Grid.STATE_ALIVE;
+            }
+        }
+        else {
+            for (int w = 0; w < entry.flippedCells.length; w++) {
+                long word = entry.flippedCells[w];
+                while (word != 0) {
+                    int cellIdx = (w << 6) + Long.numberOfTrailingZeros(word);
+                    int[] row = ages[cellIdx / span];
+                    row[cellIdx % span] = (row[cellIdx % span] > 0) ? Grid.STATE_DEAD : Grid.STATE_ALIVE;
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the signed age a cell has after a single mutation, as in Grid.
+     * </p>
+     *
+     * @param value The signed age of the cell before the mutation.
+     * @param changed Whether the cell changes state in the mutation.
+     * @return The signed age of the cell after the mutation.
+     */
+    private static int nextAge(int value, boolean changed) {
+        if (changed) return (value > 0) ? Grid.STATE_DEAD : Grid.STATE_ALIVE;
+        if (value > 0) return value + 1;
+        if (value < 0) return value - 1;
+        return 0;
+    }
+
+    /**
+     * @return The given target, after copying every row of the source into it.
+     */
+    private static int[][] copyAges(int[][] source, int[][] target) {
+        for (int rowIdx = 0; rowIdx < source.length; rowIdx++) {
+            System.arraycopy(source[rowIdx], 0, target[rowIdx], 0, source.length);
+        }
+        return target;
+    }
+
+    /**
+     * @return The estimated memory usage of the buffers held besides the iterations, in bytes.
+     */
+    private long getFixedMemoryUsage() {
+        if (this.newest == null) return 0;
+        return (long) this.gridDimensions * (OBJECT_OVERHEAD + 4L * this.gridDimensions) * 2
+                + 16L * this.newestFrame.length;
+    }
+
+    /**
+     * <p>
+     * Removes every held iteration.
+     * </p>
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.memoryUsage = 0;
+        this.droppedCount = 0;
+    }
+
+    /**
+     * <p>
+     * Returns a copy of the history holding the same retained iterations, which is unaffected
+     * by later changes to this history, so that it may be read on another thread whilst
+     * iterations are still being appended here. Iterations held as changes are shared with
+     * the copy, as they are never modified once held.
+     * </p>
+     * @return A copy of the history.
+     */
+    public synchronized IterationHistory snapshot() {
+
+        IterationHistory copy = new IterationHistory();
+        copy.gridDimensions = this.gridDimensions;
+        copy.droppedCount = this.droppedCount;
+        copy.memoryCap = this.memoryCap;
+        copy.memoryUsage = this.memoryUsage;
+
+        // iterations held in full are copied, as folding may later update them in place.
+        for (Entry entry : this.entries) {
+            if (entry.ages != null) {
+                entry = new Entry(copyAges(entry.ages, new int[this.gridDimensions][this.gridDimensions]), null, null);
+            }
+            copy.entries.addLast(entry);
+        }
+        return copy;
+    }
+
+    /**
+     * @return The number of retained iterations.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return Boolean evaluation of whether no iteration is retained.
+     */
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Getter method for the number of iterations dropped to stay within the memory cap, that is
+     * the iteration number of the oldest retained iteration.
+     * @return The number of dropped iterations.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    /**
+     * Getter method for the dimensions of the held iterations.
+     * @return The n dimension of the held iterations.
+     */
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * Getter method for the estimated memory usage of the history.
+     * @return The estimated memory usage in bytes.
+     */
+    public long getMemoryUsage() {
+        return this.memoryUsage + getFixedMemoryUsage();
+    }
+
+    /**
+     * Getter method for the memory cap of the history.
+     * @return The memory cap in bytes.
+     */
+    public long getMemoryCap() {
+        return this.memoryCap;
+    }
+
+    /**
+     * <p>
+     * Sets the memory cap of the history, taking effect from the next appended iteration.
+     * </p>
+     * @param memoryCap The memory cap in bytes.
+     */
+    public void setMemoryCap(long memoryCap) {
+        this.memoryCap = memoryCap;
+    }
+
+    /**
+     * <p>
+     * Returns an iterator restoring each retained iteration in turn, oldest first, as the
+     * signed age of each cell as returned by Grid.getCurrentShaded(). The same array is
+     * returned for every iteration and updated in place, so it must be copied to be kept.
+     * The history must not be appended to whilst iterating, see snapshot().
+     * </p>
+     * @return An iterator over the retained iterations.
+     */
+    @Override
+    public Iterator<int[][]> iterator() {
+
+        final Iterator<Entry> source = this.entries.iterator();
+        final int[][] ages = new int[this.gridDimensions][this.gridDimensions];
+
+        return new Iterator<int[][]>() {
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public int[][] next() {
+                if (!source.hasNext()) throw new NoSuchElementException();
+                applyEntry(source.next(), ages);
+                return ages;
+            }
+        };
+    }
+}
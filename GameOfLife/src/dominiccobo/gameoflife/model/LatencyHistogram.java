@@ -0,0 +1,147 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *  <p>
+ *  Histogram of latencies in nanoseconds, recorded without locking so that it may be fed
+ *  from a simulation thread whilst being read from any other.
+ *  </p>
+ *  <p>
+ *  Buckets are log linear: each power of two is split into SUB_BUCKETS equal buckets, so a
+ *  recorded latency is held to within 1 / SUB_BUCKETS of its value whatever its magnitude,
+ *  in a fixed 64 * SUB_BUCKETS counts.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class LatencyHistogram {
+
+    /**
+     * Constant detailing the log2 of the number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Constant detailing the number of buckets each power of two is split into.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Instance variable holding the count of latencies recorded in each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    /**
+     * Instance variables holding the number, total and largest of the recorded latencies.
+     */
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * <p>
+     * Records a latency.
+     * </p>
+     * @param nanos The latency in nanoseconds, negative values being recorded as zero.
+     */
+    public void record(long nanos) {
+
+        nanos = Math.max(nanos, 0);
+        this.counts.incrementAndGet(bucketOf(nanos));
+        this.count.incrementAndGet();
+        this.total.addAndGet(nanos);
+
+        long largest = this.max.get();
+        while (nanos > largest && !this.max.compareAndSet(largest, nanos)) {
+            largest = this.max.get();
+        }
+    }
+
+    /**
+     * @return The bucket holding a latency. Values below SUB_BUCKETS have a bucket each, and
+     *         each power of two above is split into SUB_BUCKETS buckets.
+     */
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * @return The largest latency held by a bucket.
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lower = ((long) (SUB_BUCKETS | (bucket & (SUB_BUCKETS - 1)))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * <p>
+     * Returns the latency at or below which the given percentage of recorded latencies lie,
+     * to within the precision of the buckets.
+     * </p>
+     * @param percentile The percentage, from 0 to 100.
+     * @return The latency in nanoseconds, or zero if nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+
+        long recorded = 0;
+        for (int bucket = 0; bucket < this.counts.length(); bucket++) {
+            recorded += this.counts.get(bucket);
+        }
+        if (recorded == 0) return 0;
+
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * recorded);
+        long seen = 0;
+        for (int bucket = 0; bucket < this.counts.length(); bucket++) {
+            seen += this.counts.get(bucket);
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(upperBoundOf(bucket), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    /**
+     * Getter method for the number of recorded latencies.
+     * @return The count of recorded latencies.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Getter method for the mean of the recorded latencies.
+     * @return The mean latency in nanoseconds, or zero if nothing has been recorded.
+     */
+    public double getMean() {
+        long recorded = this.count.get();
+        return (recorded == 0) ? 0 : (double) this.total.get() / recorded;
+    }
+
+    /**
+     * Getter method for the largest recorded latency.
+     * @return The largest latency in nanoseconds.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Clears every recorded latency.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < this.counts.length(); bucket++) {
+            this.counts.set(bucket, 0);
+        }
+        this.count.set(0);
+        this.total.set(0);
+        this.max.set(0);
+    }
+}
@@ -0,0 +1,83 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Describes the minimal contract shared by every model able to step a
+ *  universe of cells according to John Conway's rules for his Game of Life,
+ *  or any other Life-like rule.
+ *  </p>
+ *  <p>
+ *  The contract mirrors the cell access methods originally exposed by Grid,
+ *  so alternative engines can be swapped in wherever only the alive / dead
+ *  state of a cell is of interest.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public interface LifeEngine {
+
+    /**
+     * <p>
+     * Updates the engine state to the next mutation based on John Conway's rules
+     * for the game of life.
+     * </p>
+     */
+    void getMutation();
+
+    /**
+     * <p>
+     * Returns the boolean alive / dead cell status of a specific cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to retrieve the status for.
+     * @param colIdx The column (2d) index of the cell to retrieve the status for.
+     * @return Boolean evaluation of whether a cell is alive or dead.
+     */
+    boolean isCellAlive(int rowIdx, int colIdx);
+
+    /**
+     * <p>
+     * Toggles the state of a cell, that is an alive cell becomes dead and a dead
+     * cell becomes alive.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to apply the toggle to.
+     * @param colIdx The column (2d) index of the cell to apply the toggle to.
+     */
+    void toggleState(int rowIdx, int colIdx);
+
+    /**
+     * <p>
+     * Returns the integer n by n grid dimensions of the modelled universe.
+     * </p>
+     * @return The integer value of the grid dimension.
+     */
+    int getGridDimensions();
+
+    /**
+     * <p>
+     * Returns the number of cells currently in the alive state.
+     * </p>
+     * @return The count of alive cells.
+     */
+    long getPopulation();
+
+    /**
+     * <p>
+     * Sets the rule mutations follow, see Rule. Engines start out following Rule.CONWAY.
+     * </p>
+     * @param rule The rule to follow.
+     * @throws IllegalArgumentException If the engine can not follow the rule, as with rules
+     *         under which empty space does not stay empty on an unbounded universe.
+     */
+    void setRule(Rule rule);
+
+    /**
+     * <p>
+     * Returns the rule mutations follow.
+     * </p>
+     * @return The rule in use.
+     */
+    Rule getRule();
+}
@@ -0,0 +1,29 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Describes an interchangeable routine computing the next mutation of every cell of
+ *  a Grid, as used by its STEP_MODE_VECTOR step mode.
+ *  </p>
+ *  <p>
+ *  A kernel must produce exactly the mutation Grid itself would, including the
+ *  signed age of each cell used for cell shading.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public interface MutationKernel {
+
+    /**
+     * <p>
+     * Writes the next mutation of the given state to the given array. The state is only
+     * read from, and both arrays are square and of the same dimensions.
+     * </p>
+     *
+     * @param currentShaded The signed age of each cell of the current mutation.
+     * @param nextShaded The array to write the signed age of each cell of the next mutation to.
+     * @param rule The rule the mutation follows.
+     */
+    void mutate(int[][] currentShaded, int[][] nextShaded, Rule rule);
+}
@@ -0,0 +1,400 @@
+package dominiccobo.gameoflife.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ *  <p>
+ *      Class loads a pattern of alive cells from a file in any of the common pattern
+ *      formats, that is run length encoded (.rle), plaintext (.cells) and Life 1.06
+ *      (.lif or .life), and places it onto the grid of an engine.
+ *  </p>
+ *  <p>
+ *      The file is memory mapped and parsed byte by byte in a single pass, straight into
+ *      the coordinates of its alive cells, so no line or string is built whilst parsing.
+ *      Rules given in a file are not applied, patterns being run under the rules of the
+ *      grid they are placed onto.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class PatternLoader {
+
+    /**
+     * Constant int value association for the run length encoded format.
+     */
+    public static final int FORMAT_RLE = 0;
+
+    /**
+     * Constant int value association for the plaintext format, with 'O' or '*' for alive
+     * cells and lines starting with '!' ignored.
+     */
+    public static final int FORMAT_PLAINTEXT = 1;
+
+    /**
+     * Constant int value association for the Life 1.06 format, a list of "x y" coordinates.
+     */
+    public static final int FORMAT_LIFE_106 = 2;
+
+    /**
+     * Constant detailing the first line of a Life 1.06 file.
+     */
+    private static final String LIFE_106_HEADER = "#Life 1.06";
+
+    /**
+     * Instance variable detailing the filename + path of the pattern to be loaded.
+     */
+    private String fname;
+
+    /**
+     * Instance variable detailing the format of the loaded pattern.
+     */
+    private int format;
+
+    /**
+     * Instance variables holding the row and column of each alive cell of the pattern, relative
+     * to the pattern's own origin.
+     */
+    private int[] cellRows = new int[64];
+    private int[] cellCols = new int[64];
+    private int cellCount = 0;
+
+    /**
+     * Instance variables detailing the bounds of the alive cells of the pattern, inclusive.
+     */
+    private int minRow, minCol, maxRow, maxCol;
+
+    /**
+     * Instance variables holding the file being parsed and the parse position within it.
+     */
+    private MappedByteBuffer buffer;
+    private int position;
+
+    /**
+     * Method specifies the filename and directory of the pattern to load.
+     * @param fname The file name + directory of the pattern.
+     */
+    public void setFile(String fname) {
+        this.fname = fname;
+    }
+
+    /**
+     * <p>
+     * Reads the alive cells of the pattern from the file, detecting its format from its
+     * extension, or from its content if the extension is not recognised.
+     * </p>
+     * @throws IOException If the file can not be read.
+     */
+    public void read() throws IOException {
+
+        this.cellCount = 0;
+        this.minRow = this.minCol = Integer.MAX_VALUE;
+        this.maxRow = this.maxCol = Integer.MIN_VALUE;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(this.fname), StandardOpenOption.READ)) {
+
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(this.fname);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.position = 0;
+            this.format = detectFormat();
+
+            switch (this.format) {
+                case FORMAT_RLE: readRle(); break;
+                case FORMAT_LIFE_106: readLife106(); break;
+                default: readPlaintext(); break;
+            }
+        }
+        finally {
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * @return The format of the file, see FORMAT_RLE, FORMAT_PLAINTEXT and FORMAT_LIFE_106.
+     */
+    private int detectFormat() {
+
+        String name = this.fname.toLowerCase(Locale.UK);
+        if (name.endsWith(".rle")) return FORMAT_RLE;
+        if (name.endsWith(".cells")) return FORMAT_PLAINTEXT;
+        if (name.endsWith(".lif") || name.endsWith(".life")) return FORMAT_LIFE_106;
+
+        if (startsWith(0, LIFE_106_HEADER)) return FORMAT_LIFE_106;
+
+        // a run length encoded file has a header line starting with x after its comments.
+        int pos = 0;
+        int limit = this.buffer.limit();
+        while (pos < limit) {
+            while (pos < limit && isWhitespace(this.buffer.get(pos))) pos++;
+            if (pos < limit && this.buffer.get(pos) == '#') {
+                while (pos < limit && this.buffer.get(pos) != '\n') pos++;
+                continue;
+            }
+            return (pos < limit && this.buffer.get(pos) == 'x') ? FORMAT_RLE : FORMAT_PLAINTEXT;
+        }
+        return FORMAT_PLAINTEXT;
+    }
+
+    /**
+     * <p>
+     * Parses a run length encoded pattern, that is runs of 'b' for dead cells, any other letter
+     * for alive cells and '$' for the end of a row, each optionally preceded by a run count,
+     * up to a closing '!'. Comment lines starting with '#' and the header line are skipped.
+     * </p>
+     */
+    private void readRle() {
+
+        int limit = this.buffer.limit();
+        int row = 0;
+        int col = 0;
+        int run = 0;
+        boolean lineStart = true;
+
+        while (this.position < limit) {
+            byte b = this.buffer.get(this.position);
+
+            if (lineStart && (b == '#' || b == 'x')) {
+                skipLine();
+                continue;
+            }
+            this.position++;
+            lineStart = (b == '\n');
+
+            if (b >= '0' && b <= '9') {
+                run = run * 10 + (b - '0');
+                continue;
+            }
+            if (isWhitespace(b)) continue;
+
+            int count = (run == 0) ? 1 : run;
+            run = 0;
+
+            if (b == '!') break;
+            if (b == '$') {
+                row += count;
+                col = 0;
+            }
+            else if (b == 'b' || b == '.') {
+                col += count;
+            }
+            else {
+                for (int i = 0; i < count; i++) {
+                    addCell(row, col++);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Parses a plaintext pattern, one row per line with 'O' or '*' for alive cells and any other
+     * character for dead cells. Lines starting with '!' are skipped.
+     * </p>
+     */
+    private void readPlaintext() {
+
+        int limit = this.buffer.limit();
+        int row = 0;
+        int col = 0;
+        boolean lineStart = true;
+
+        while (this.position < limit) {
+            byte b = this.buffer.get(this.position);
+
+            if (lineStart && b == '!') {
+                skipLine();
+                continue;
+            }
+            this.position++;
+            lineStart = false;
+
+            if (b == '\n') {
+                row++;
+                col = 0;
+                lineStart = true;
+            }
+            else if (b == 'O' || b == '*') {
+                addCell(row, col++);
+            }
+            else if (b != '\r') {
+                col++;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Parses a Life 1.06 pattern, that is one "x y" pair of column and row per line, either
+     * of which may be negative. Lines starting with '#' are skipped.
+     * </p>
+     * @throws IOException If a line does not start with a pair of numbers.
+     */
+    private void readLife106() throws IOException {
+
+        int limit = this.buffer.limit();
+
+        while (this.position < limit) {
+            while (this.position < limit && isWhitespace(this.buffer.get(this.position))) this.position++;
+            if (this.position >= limit) break;
+
+            if (this.buffer.get(this.position) == '#') {
+                skipLine();
+                continue;
+            }
+            int col = readInt();
+            int row = readInt();
+            addCell(row, col);
+            skipLine();
+        }
+    }
+
+    /**
+     * @return The optionally negative integer following any spaces at the parse position.
+     * @throws IOException If no integer follows, or it does not fit in an int.
+     */
+    private int readInt() throws IOException {
+
+        int limit = this.buffer.limit();
+        while (this.position < limit && (this.buffer.get(this.position) == ' ' || this.buffer.get(this.position) == '\t')) {
+            this.position++;
+        }
+
+        boolean negative = false;
+        if (this.position < limit && (this.buffer.get(this.position) == '-' || this.buffer.get(this.position) == '+')) {
+            negative = this.buffer.get(this.position) == '-';
+            this.position++;
+        }
+
+        int start = this.position;
+        int value = 0;
+        while (this.position < limit) {
+            byte b = this.buffer.get(this.position);
+            if (b < '0' || b > '9') break;
+            if (value > (Integer.MAX_VALUE - (b - '0')) / 10) {
+                throw new IOException(this.fname + ": number too large at byte " + start);
+            }
+            value = value * 10 + (b - '0');
+            this.position++;
+        }
+        if (this.position == start) {
+            throw new IOException(this.fname + ": expected a number at byte " + start);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Moves the parse position past the end of the current line.
+     */
+    private void skipLine() {
+        int limit = this.buffer.limit();
+        while (this.position < limit && this.buffer.get(this.position++) != '\n') {}
+    }
+
+    /**
+     * @return Boolean evaluation of whether the file holds the given text at the given position.
+     */
+    private boolean startsWith(int pos, String text) {
+        if (pos + text.length() > this.buffer.limit()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            if (this.buffer.get(pos + i) != text.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Boolean evaluation of whether a byte is a space, tab or line break.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    /**
+     * Records an alive cell of the pattern, growing the bounds to include it.
+     */
+    private void addCell(int row, int col) {
+
+        if (this.cellCount == this.cellRows.length) {
+            this.cellRows = Arrays.copyOf(this.cellRows, this.cellCount * 2);
+            this.cellCols = Arrays.copyOf(this.cellCols, this.cellCount * 2);
+        }
+        this.cellRows[this.cellCount] = row;
+        this.cellCols[this.cellCount] = col;
+        this.cellCount++;
+
+        this.minRow = Math.min(this.minRow, row);
+        this.minCol = Math.min(this.minCol, col);
+        this.maxRow = Math.max(this.maxRow, row);
+        this.maxCol = Math.max(this.maxCol, col);
+    }
+
+    /**
+     * <p>
+     * Brings the cells of the read pattern to life on the grid of an engine, centring the
+     * pattern on the grid. Cells falling outside of the grid are left out, and cells which
+     * are already alive are left alive.
+     * </p>
+     * @param engine The engine to place the pattern onto.
+     * @return The number of cells of the pattern placed onto the grid.
+     */
+    public int place(LifeEngine engine) {
+
+        if (this.cellCount == 0) return 0;
+
+        int span = engine.getGridDimensions();
+        int rowOffset = (span - getPatternHeight()) / 2 - this.minRow;
+        int colOffset = (span - getPatternWidth()) / 2 - this.minCol;
+
+        int placed = 0;
+        for (int i = 0; i < this.cellCount; i++) {
+            int rowIdx = this.cellRows[i] + rowOffset;
+            int colIdx = this.cellCols[i] + colOffset;
+            if (rowIdx < 0 || colIdx < 0 || rowIdx >= span || colIdx >= span) continue;
+
+            if (!engine.isCellAlive(rowIdx, colIdx)) {
+                engine.toggleState(rowIdx, colIdx);
+            }
+            placed++;
+        }
+        return placed;
+    }
+
+    /**
+     * Getter method for the format of the read pattern.
+     * @return The format value, see FORMAT_RLE, FORMAT_PLAINTEXT and FORMAT_LIFE_106.
+     */
+    public int getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Getter method for the number of alive cells of the read pattern.
+     * @return The count of alive cells.
+     */
+    public int getCellCount() {
+        return this.cellCount;
+    }
+
+    /**
+     * Getter method for the width of the read pattern.
+     * @return The number of columns spanned by the alive cells, zero for an empty pattern.
+     */
+    public int getPatternWidth() {
+        return (this.cellCount == 0) ? 0 : this.maxCol - this.minCol + 1;
+    }
+
+    /**
+     * Getter method for the height of the read pattern.
+     * @return The number of rows spanned by the alive cells, zero for an empty pattern.
+     */
+    public int getPatternHeight() {
+        return (this.cellCount == 0) ? 0 : this.maxRow - this.minRow + 1;
+    }
+}
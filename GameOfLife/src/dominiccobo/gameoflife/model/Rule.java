@@ -0,0 +1,183 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Models a Life-like rule, that is the numbers of adjacent alive cells for which a dead
+ *  cell is born and for which an alive cell survives, as written in B/S notation. John
+ *  Conway's rules for his Game of Life are B3/S23, whilst HighLife, in which a dead cell is
+ *  also born with six adjacent alive cells, is B36/S23.
+ *  </p>
+ *  <p>
+ *  Each rule is compiled into a table of the next state of a cell, indexed by its current
+ *  state and adjacent alive count, so that engines apply any rule with a single lookup and
+ *  no branches on the rule itself. Engines working on whole words or vector lanes of cells
+ *  use the birth and survival masks instead, bit n of which is set where n adjacent alive
+ *  cells give an alive cell.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public final class Rule {
+
+    /**
+     * Constant detailing the number of possible adjacent alive counts, zero to eight.
+     */
+    public static final int COUNT_RANGE = 9;
+
+    /**
+     * Constant referencing John Conway's rules for his Game of Life, B3/S23.
+     */
+    public static final Rule CONWAY = new Rule(1 << 3, (1 << 2) | (1 << 3));
+
+    /**
+     * Instance variables holding the masks of adjacent alive counts for which a dead cell is
+     * born and an alive cell survives, bit n standing for a count of n.
+     */
+    private final int birthMask;
+    private final int survivalMask;
+
+    /**
+     * Instance variable holding the next state of a cell, indexed by its adjacent alive count
+     * plus COUNT_RANGE if it is alive.
+     */
+    private final boolean[] table = new boolean[2 * COUNT_RANGE];
+
+    /**
+     * <p>
+     * Constructor for a rule from its birth and survival masks.
+     * </p>
+     *
+     * @param birthMask The mask of counts for which a dead cell is born, of COUNT_RANGE bits.
+     * @param survivalMask The mask of counts for which an alive cell survives, of COUNT_RANGE bits.
+     */
+    private Rule(int birthMask, int survivalMask) {
+
+        this.birthMask = birthMask;
+        this.survivalMask = survivalMask;
+
+        for (int aliveCount = 0; aliveCount < COUNT_RANGE; aliveCount++) {
+            this.table[aliveCount] = ((birthMask >>> aliveCount) & 1) != 0;
+            this.table[COUNT_RANGE + aliveCount] = ((survivalMask >>> aliveCount) & 1) != 0;
+        }
+    }
+
+    /**
+     * <p>
+     * Parses a rule written in B/S notation, such as B3/S23 or B36/S23, case insensitively and
+     * in either order. Either list of counts may be empty, as in B2/S for Seeds.
+     * </p>
+     *
+     * @param rule The rule in B/S notation.
+     * @return The parsed rule, CONWAY itself for B3/S23.
+     * @throws IllegalArgumentException If the rule is not in B/S notation.
+     */
+    public static Rule parse(String rule) {
+
+        String[] parts = rule.trim().toUpperCase().split("/", -1);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rule must be in B/S notation, such as B3/S23: " + rule);
+        }
+
+        int birthMask = -1;
+        int survivalMask = -1;
+        for (String part : parts) {
+            part = part.trim();
+            int mask = parseCounts(part, rule);
+            if (part.charAt(0) == 'B' && birthMask < 0) birthMask = mask;
+            else if (part.charAt(0) == 'S' && survivalMask < 0) survivalMask = mask;
+            else throw new IllegalArgumentException("Rule must be in B/S notation, such as B3/S23: " + rule);
+        }
+
+        if (birthMask == CONWAY.birthMask && survivalMask == CONWAY.survivalMask) {
+            return CONWAY;
+        }
+        return new Rule(birthMask, survivalMask);
+    }
+
+    /**
+     * @return The mask of the adjacent alive counts listed after the leading B or S of a part.
+     */
+    private static int parseCounts(String part, String rule) {
+
+        if (part.isEmpty()) {
+            throw new IllegalArgumentException("Rule must be in B/S notation, such as B3/S23: " + rule);
+        }
+        int mask = 0;
+        for (int i = 1; i < part.length(); i++) {
+            int aliveCount = part.charAt(i) - '0';
+            if (aliveCount < 0 || aliveCount >= COUNT_RANGE) {
+                throw new IllegalArgumentException("Adjacent alive counts range from 0 to 8: " + rule);
+            }
+            mask |= 1 << aliveCount;
+        }
+        return mask;
+    }
+
+    /**
+     * <p>
+     * Returns the next state of a cell, looked up from the table of the rule.
+     * </p>
+     *
+     * @param alive Whether the cell is alive.
+     * @param aliveCount The number of alive cells adjacent to the cell, zero to eight.
+     * @return Boolean evaluation of whether the cell is alive after the mutation.
+     */
+    public boolean next(boolean alive, int aliveCount) {
+        return this.table[(alive ? COUNT_RANGE : 0) + aliveCount];
+    }
+
+    /**
+     * Getter method for the birth mask.
+     * @return The mask of adjacent alive counts for which a dead cell is born, bit n standing for n.
+     */
+    public int getBirthMask() {
+        return this.birthMask;
+    }
+
+    /**
+     * Getter method for the survival mask.
+     * @return The mask of adjacent alive counts for which an alive cell survives, bit n standing for n.
+     */
+    public int getSurvivalMask() {
+        return this.survivalMask;
+    }
+
+    /**
+     * <p>
+     * Evaluates whether a dead cell without any adjacent alive cells is born. Under such a
+     * rule empty space does not stay empty, so it can only be run on a bounded grid.
+     * </p>
+     * @return Boolean evaluation of whether B0 is part of the rule.
+     */
+    public boolean isBirthOnZero() {
+        return (this.birthMask & 1) != 0;
+    }
+
+    /**
+     * @return The rule in B/S notation, such as B3/S23.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("B");
+        for (int aliveCount = 0; aliveCount < COUNT_RANGE; aliveCount++) {
+            if (((this.birthMask >>> aliveCount) & 1) != 0) builder.append(aliveCount);
+        }
+        builder.append("/S");
+        for (int aliveCount = 0; aliveCount < COUNT_RANGE; aliveCount++) {
+            if (((this.survivalMask >>> aliveCount) & 1) != 0) builder.append(aliveCount);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Rule)) return false;
+        return this.birthMask == ((Rule) other).birthMask && this.survivalMask == ((Rule) other).survivalMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.birthMask * 31 + this.survivalMask;
+    }
+}
@@ -4,20 +4,80 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.zip.Deflater;
 
 /**
  *  <p>
- *      Class creates an ArrayList saver, adapted to work with the iterations
+ *      Class creates an iteration history saver, adapted to work with the iterations
  *      saved by this program.
  *  </p>
+ *  <p>
+ *      The iterations are copied from the grid iterator when the saver is created, so
+ *      that write() may then be called on a background thread whilst the iterator keeps
+ *      running, reporting its progress and stopping early if cancelled.
+ *  </p>
+ *  <p>
+ *      Iterations are either exported as text, or saved in a binary format written through
+ *      a FileChannel. A binary save starts with a header of the int BINARY_MAGIC, the int
+ *      BINARY_VERSION, the int grid span, the int flags, the long total iteration count, the
+ *      long number of the first saved iteration and the int count of saved iterations. The
+ *      iterations follow in chunks, each made of the int count of iterations in the chunk,
+ *      the int length of the raw chunk, the int length of the stored chunk and the stored
+ *      chunk itself. A raw chunk holds the signed age of each cell of each of its iterations
+ *      as ints, row by row, and is stored deflated when FLAG_COMPRESSED is set, the chunks
+ *      then being compressed concurrently.
+ *  </p>
  *
  *  @author Dominic Cobo
  *  @since March 2017
  */
 public class Save {
 
+    /**
+     * Constant int value association for saving iterations as a text export.
+     */
+    public static final int SAVE_FORMAT_TEXT = 0;
+
+    /**
+     * Constant int value association for saving iterations in the binary format.
+     */
+    public static final int SAVE_FORMAT_BINARY = 1;
+
+    /**
+     * Constant detailing the first int of a binary save, "GOLS" in ASCII.
+     */
+    public static final int BINARY_MAGIC = 0x474F4C53;
+
+    /**
+     * Constant detailing the version of the binary save layout.
+     */
+    public static final int BINARY_VERSION = 1;
+
+    /**
+     * Constant detailing the header flag set when the chunks of a binary save are deflated.
+     */
+    public static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * Constant detailing the approximate size in bytes of a raw chunk, that is the unit of
+     * work compressed by each thread. A chunk holds at least one iteration.
+     */
+    private static final int CHUNK_BYTES = 1 << 20;
+
     /**
      *
      * Instance variable detailing the filename + path of the content to be saved.
@@ -25,11 +85,41 @@ public class Save {
     private String fname;
 
     /**
-     * Instance variable detailing the grid iterator to retrieve the content that
-     * requires saving.
+     * Instance variable detailing the copy of the grid iterator's history to be saved.
+     */
+    private IterationHistory history;
+
+    /**
+     * Instance variables detailing the iteration count and grid span of the grid iterator at the
+     * time the saver was created.
+     */
+    private long iteratorCount;
+    private int gridSpan;
+
+    /**
+     * Instance variable detailing the format to save in, see SAVE_FORMAT_TEXT and SAVE_FORMAT_BINARY.
      */
-    private GridIterator gridIterator;
+    private int format = SAVE_FORMAT_TEXT;
 
+    /**
+     * Instance variable detailing whether the chunks of a binary save are deflated.
+     */
+    private boolean compressed = true;
+
+    /**
+     * Instance variable detailing the number of threads compressing chunks.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Instance variable notified of the percentage of iterations written, may be null.
+     */
+    private IntConsumer progressListener;
+
+    /**
+     * Instance variable detailing whether the save has been cancelled, set from another thread.
+     */
+    private volatile boolean cancelled = false;
 
     /**
      * Loads resource bundle containing all output strings, this is separate from the
@@ -40,12 +130,16 @@ public class Save {
     /**
      * <p>
      * Constructor for the Save class, specifies the grid iterator of which to retrieve the
-     * saveable content from.
+     * saveable content from. The content is copied at once, so the iterator may keep running.
      * </p>
      * @param gridIterator The grid iterator to pass to this class for saving.
      */
     public Save(GridIterator gridIterator){
-        this.gridIterator = gridIterator;
+        GenerationSnapshot generation = gridIterator.acquireSnapshot();
+        this.history = gridIterator.getPreviousIterations().snapshot();
+        this.iteratorCount = generation.getGeneration();
+        this.gridSpan = generation.getGridDimensions();
+        generation.release();
     }
 
     /**
@@ -56,67 +150,261 @@ public class Save {
         this.fname = fname;
     }
 
+    /**
+     * Method specifies the format to save in.
+     * @param format Either SAVE_FORMAT_TEXT or SAVE_FORMAT_BINARY.
+     */
+    public void setFormat(int format) {
+        this.format = format;
+    }
+
+    /**
+     * Method specifies whether the chunks of a binary save are deflated.
+     * @param compressed Boolean flag for enabling or disabling compression.
+     */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    /**
+     * Method specifies the number of threads compressing the chunks of a binary save.
+     * @param parallelism The number of threads, at least one.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Method specifies a listener notified, on the saving thread, of the percentage of
+     * iterations written.
+     * @param progressListener The listener to notify, or null for none.
+     */
+    public void setProgressListener(IntConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
     /**
      * <p>
-     * Method takes the content saved in the iterator array list and outputs it to the requested directory.
+     * Cancels a save in progress, which may be called from any thread. The partly written
+     * file is deleted.
      * </p>
      */
-    public void write() {
+    public void cancel() {
+        this.cancelled = true;
+    }
 
-        // initialize our values and declare them as null, so we can use this to see whether they are set for error checking.
-        File file;
-        BufferedWriter bufferedWriter = null;
-        FileWriter fileWriter = null;
+    /**
+     * @return Boolean evaluation of whether the save has been cancelled.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
 
-        try {
-            file = new File(fname); // convert str_File into a File data type.
+    /**
+     * <p>
+     * Method takes the content saved in the iterator history and outputs it to the requested directory
+     * in the requested format.
+     * </p>
+     * @return Boolean evaluation of whether every iteration was written, false if the save failed
+     *         or was cancelled.
+     */
+    public boolean write() {
+
+        Object event = SimulationEvents.get().beginSave();
+        File file = new File(fname); // convert str_File into a File data type.
+        boolean written = false;
 
-            if(!file.exists()) { // if file doesn't exist create it, save any issues with writing to non-existent files.
-                file.createNewFile();
+        try {
+            if(this.format == SAVE_FORMAT_BINARY) {
+                written = writeBinary(file);
+            }
+            else {
+                written = writeText(file);
             }
+        }
+        catch(IOException | ExecutionException $e) {
+            System.err.println($e.getMessage());
+        }
+        catch(InterruptedException $e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if(!written) {
+            file.delete();
+        }
+        if(event != null) {
+            SimulationEvents.get().commitSave(event, fname, this.format, this.history.size(), written ? file.length() : 0, written);
+        }
+        return written;
+    }
+
+    /**
+     * <p>
+     * Writes each iteration as text, that is its number followed by the signed age of each cell.
+     * </p>
+     * @return Boolean evaluation of whether every iteration was written.
+     * @throws IOException If the file can not be written to.
+     */
+    private boolean writeText(File file) throws IOException {
 
-            fileWriter = new FileWriter(file);
-            bufferedWriter = new BufferedWriter(fileWriter);
+        try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(file))) {
 
-            bufferedWriter.write(outputStr.getString("save_iterations") + gridIterator.getIteratorCount());
+            bufferedWriter.write(outputStr.getString("save_iterations") + this.iteratorCount);
             bufferedWriter.newLine();
-            bufferedWriter.write(outputStr.getString("save_gridspan") + gridIterator.getCurrentGrid().getGridDimensions());
+            bufferedWriter.write(outputStr.getString("save_gridspan") + this.gridSpan);
             bufferedWriter.newLine();
 
-            for(int i = 0; i < gridIterator.getPreviousIterations().size(); i++) {
-                bufferedWriter.write(outputStr.getString("save_iteration_no") + i);
+            // iterations dropped from the history to stay within its memory cap keep their numbers.
+            long i = this.history.getDroppedCount();
+            int done = 0;
+            for(int[][] iteration : this.history) {
+                if(this.cancelled) return false;
+
+                bufferedWriter.write(outputStr.getString("save_iteration_no") + i++);
                 bufferedWriter.newLine();
-                bufferedWriter.write(gridIterator.getPreviousIterations().get(i)); // write the item to the file buffer...
+                bufferedWriter.write(Arrays.deepToString(iteration)); // write the item to the file buffer...
                 bufferedWriter.newLine();
                 bufferedWriter.newLine();
+                reportProgress(++done);
             }
-
-        }
-        catch(IOException $e) {
-            System.err.println($e.getMessage());
         }
-        // finally will always run regardless of what occurs above, not even return statements will stop it from running.
-        finally {
+        return true;
+    }
+
+    /**
+     * <p>
+     * Writes every iteration in the binary format. Raw chunks are filled on this thread, as
+     * restoring iterations from the history is sequential, whilst compression is spread over
+     * a pool of threads. The stored chunks are written in order, with a bounded number of
+     * chunks in flight.
+     * </p>
+     * @return Boolean evaluation of whether every iteration was written.
+     * @throws IOException If the file can not be written to.
+     */
+    private boolean writeBinary(File file) throws IOException, InterruptedException, ExecutionException {
+
+        int span = this.history.getGridDimensions();
+        int iterationBytes = 4 * span * span;
+        int iterationsPerChunk = Math.max(1, CHUNK_BYTES / Math.max(iterationBytes, 1));
+
+        ExecutorService pool = this.compressed ? Executors.newFixedThreadPool(this.parallelism) : null;
+        ArrayDeque<Future<ByteBuffer>> inFlight = new ArrayDeque<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer header = ByteBuffer.allocate(40);
+            header.putInt(BINARY_MAGIC).putInt(BINARY_VERSION).putInt(span)
+                    .putInt(this.compressed ? FLAG_COMPRESSED : 0)
+                    .putLong(this.iteratorCount).putLong(this.history.getDroppedCount())
+                    .putInt(this.history.size());
+            header.flip();
+            writeFully(channel, header);
 
-            // if the buffered writer was never initialized successfully, closing it will only cause errors...
-            if(bufferedWriter != null) {
-                try {
-                    bufferedWriter.close();
+            Iterator<int[][]> iterations = this.history.iterator();
+            int done = 0;
+
+            while(iterations.hasNext()) {
+                if(this.cancelled) return false;
+
+                // fill a raw chunk with the next iterations.
+                int count = 0;
+                ByteBuffer raw = ByteBuffer.allocate(iterationsPerChunk * iterationBytes);
+                IntBuffer ints = raw.asIntBuffer();
+                while(count < iterationsPerChunk && iterations.hasNext()) {
+                    for(int[] row : iterations.next()) {
+                        ints.put(row);
+                    }
+                    count++;
                 }
-                catch(IOException $e) {
-                    System.err.println($e.getMessage());
+                raw.limit(count * iterationBytes);
+
+                final int chunkCount = count;
+                if(pool != null) {
+                    inFlight.addLast(pool.submit(() -> storeChunk(chunkCount, raw, true)));
+                }
+                else {
+                    writeFully(channel, storeChunk(chunkCount, raw, false));
                 }
-            }
 
-            if (fileWriter != null) {
-                try {
-                    fileWriter.close();
+                // write finished chunks in order, waiting whilst too many are in flight.
+                while(!inFlight.isEmpty() && (inFlight.size() > 2 * this.parallelism || inFlight.peekFirst().isDone())) {
+                    writeFully(channel, inFlight.removeFirst().get());
                 }
-                catch(IOException $e) {
-                    System.err.println($e.getMessage());
+                done += count;
+                reportProgress(done);
+            }
+
+            while(!inFlight.isEmpty()) {
+                if(this.cancelled) return false;
+                writeFully(channel, inFlight.removeFirst().get());
+            }
+        }
+        finally {
+            if(pool != null) {
+                pool.shutdownNow();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>
+     * Builds a stored chunk, that is its header followed by the raw chunk, deflated if requested.
+     * </p>
+     * @param count The number of iterations in the chunk.
+     * @param raw The raw chunk, from its position up to its limit.
+     * @param deflate Whether to deflate the raw chunk.
+     * @return The stored chunk, ready to be written.
+     */
+    private static ByteBuffer storeChunk(int count, ByteBuffer raw, boolean deflate) {
+
+        int rawLength = raw.remaining();
+        byte[] stored = raw.array();
+        int storedLength = rawLength;
+
+        if(deflate) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(raw.array(), 0, rawLength);
+                deflater.finish();
+                stored = new byte[rawLength + rawLength / 1000 + 64];
+                storedLength = 0;
+                while(!deflater.finished()) {
+                    if(storedLength == stored.length) {
+                        stored = Arrays.copyOf(stored, stored.length * 2);
+                    }
+                    storedLength += deflater.deflate(stored, storedLength, stored.length - storedLength);
                 }
             }
+            finally {
+                deflater.end();
+            }
         }
 
+        ByteBuffer chunk = ByteBuffer.allocate(12 + storedLength);
+        chunk.putInt(count).putInt(rawLength).putInt(storedLength).put(stored, 0, storedLength);
+        chunk.flip();
+        return chunk;
+    }
+
+    /**
+     * Writes the whole of a buffer to a channel.
+     * @throws IOException If the channel can not be written to.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Notifies the progress listener, if any, of the percentage of iterations written.
+     * @param done The number of iterations written.
+     */
+    private void reportProgress(int done) {
+        if(this.progressListener != null && !this.history.isEmpty()) {
+            this.progressListener.accept((int) (100L * done / this.history.size()));
+        }
     }
 }
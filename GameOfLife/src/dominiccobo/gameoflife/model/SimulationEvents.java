@@ -0,0 +1,150 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Hooks around the hot paths of the program, that is each mutation of a Grid, each render
+ *  of the view, each append to the iteration history and each save, through which they are
+ *  recorded as JDK Flight Recorder events.
+ *  </p>
+ *  <p>
+ *  The events are built separately against the jdk.jfr module, which the language level of
+ *  the program predates, so they are only ever loaded by name. Where they can not be loaded
+ *  this class is used as is, every hook doing nothing.
+ *  </p>
+ *  <p>
+ *  Each hook is a pair: begin methods return an event, or null whenever it would not be
+ *  recorded, and commit methods record a non null event along with its fields. Callers only
+ *  gather the fields for a non null event, so hooks cost next to nothing whilst no recording
+ *  is running.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class SimulationEvents {
+
+    /**
+     * Constant detailing the class name of the events. It is built separately against the
+     * jdk.jfr module, so it is only ever loaded by name.
+     */
+    private static final String FLIGHT_RECORDER_EVENTS_CLASS = "dominiccobo.gameoflife.model.FlightRecorderEvents";
+
+    /**
+     * Constant referencing the hooks in use, the events when they can be loaded.
+     */
+    private static final SimulationEvents EVENTS = load();
+
+    /**
+     * @return The events if they can be loaded, otherwise hooks doing nothing.
+     */
+    private static SimulationEvents load() {
+        try {
+            return (SimulationEvents) Class.forName(FLIGHT_RECORDER_EVENTS_CLASS).getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError $e) {
+            return new SimulationEvents();
+        }
+    }
+
+    /**
+     * Getter method for the hooks in use.
+     * @return The hooks, recording Flight Recorder events where available.
+     */
+    public static SimulationEvents get() {
+        return EVENTS;
+    }
+
+    /**
+     * Evaluates whether hooks record events, that is whether the events could be loaded.
+     * @return Boolean evaluation of whether Flight Recorder events are available.
+     */
+    public boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Begins timing a mutation of a grid.
+     * @return The event, or null if it would not be recorded.
+     */
+    public Object beginStep() {
+        return null;
+    }
+
+    /**
+     * <p>
+     * Records a mutation of a grid.
+     * </p>
+     * @param event The event returned by beginStep().
+     * @param gridDimensions The n dimension of the n by n grid.
+     * @param stepMode The step mode the mutation was computed in.
+     * @param population The number of alive cells after the mutation.
+     * @param births The number of cells born.
+     * @param deaths The number of cells which died.
+     */
+    public void commitStep(Object event, int gridDimensions, int stepMode, long population, long births, long deaths) {
+    }
+
+    /**
+     * Begins timing a render of the view.
+     * @return The event, or null if it would not be recorded.
+     */
+    public Object beginRender() {
+        return null;
+    }
+
+    /**
+     * <p>
+     * Records a render of the view.
+     * </p>
+     * @param event The event returned by beginRender().
+     * @param generation The generation rendered.
+     * @param gridDimensions The n dimension of the n by n grid rendered.
+     * @param repaintedCells The number of cells repainted.
+     * @param fullRepaint Whether every cell was repainted.
+     */
+    public void commitRender(Object event, long generation, int gridDimensions, int repaintedCells, boolean fullRepaint) {
+    }
+
+    /**
+     * Begins timing an append to the iteration history.
+     * @return The event, or null if it would not be recorded.
+     */
+    public Object beginHistoryAppend() {
+        return null;
+    }
+
+    /**
+     * <p>
+     * Records an append to the iteration history.
+     * </p>
+     * @param event The event returned by beginHistoryAppend().
+     * @param generation The generation appended.
+     * @param gridDimensions The n dimension of the n by n grid appended.
+     * @param heldIterations The number of iterations held after the append.
+     * @param memoryUsage The estimated bytes held by the history after the append.
+     */
+    public void commitHistoryAppend(Object event, long generation, int gridDimensions, int heldIterations, long memoryUsage) {
+    }
+
+    /**
+     * Begins timing a save.
+     * @return The event, or null if it would not be recorded.
+     */
+    public Object beginSave() {
+        return null;
+    }
+
+    /**
+     * <p>
+     * Records a save.
+     * </p>
+     * @param event The event returned by beginSave().
+     * @param file The file name + directory saved to.
+     * @param format The format saved in, see Save.
+     * @param iterations The number of iterations saved.
+     * @param bytes The size of the saved file in bytes, zero if not written.
+     * @param written Whether every iteration was written.
+     */
+    public void commitSave(Object event, String file, int format, int iterations, long bytes, boolean written) {
+    }
+}
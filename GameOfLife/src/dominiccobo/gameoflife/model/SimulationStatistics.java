@@ -0,0 +1,183 @@
+package dominiccobo.gameoflife.model;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ *  <p>
+ *  Statistics of a running simulation, recorded once per step by the thread computing the
+ *  steps and readable from any other, including over JMX once registered as an MBean under
+ *  the OBJECT_DOMAIN domain.
+ *  </p>
+ *  <p>
+ *  The population, births and deaths are those counted by the engine whilst computing the
+ *  step, so recording them costs no further pass over the grid.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class SimulationStatistics implements SimulationStatisticsMBean {
+
+    /**
+     * Constant detailing the domain the statistics are registered under.
+     */
+    public static final String OBJECT_DOMAIN = "dominiccobo.gameoflife";
+
+    /**
+     * Constant detailing the number of steps the generation rate is measured over, so that the
+     * rate of a slow simulation, stepping less than once a second, is still measured.
+     */
+    private static final int RATE_SAMPLES = 16;
+
+    /**
+     * Instance variables detailing the statistics of the latest step.
+     */
+    private volatile long generation = 0;
+    private volatile long population = 0;
+    private volatile long births = -1;
+    private volatile long deaths = -1;
+    private volatile long lastComputeNanos = 0;
+
+    /**
+     * Instance variable LatencyHistogram holding the time taken to compute each step.
+     */
+    private final LatencyHistogram computeTimes = new LatencyHistogram();
+
+    /**
+     * Instance variables detailing the System.nanoTime() and generation of the last RATE_SAMPLES
+     * steps, as rings written at the index after the latest, along with the number of steps held
+     * and the rate across them.
+     */
+    private final long[] sampleTimes = new long[RATE_SAMPLES];
+    private final long[] sampleGenerations = new long[RATE_SAMPLES];
+    private int sampleIndex = 0;
+    private int sampleCount = 0;
+    private volatile double generationsPerSecond = 0;
+
+    /**
+     * <p>
+     * Records a step. Only ever called from one thread at a time.
+     * </p>
+     * @param generation The generation reached by the step.
+     * @param population The number of alive cells at the generation.
+     * @param births The number of cells born in the step, or -1 if not known.
+     * @param deaths The number of cells which died in the step, or -1 if not known.
+     * @param computeNanos The time taken to compute the step, in nanoseconds.
+     */
+    public void record(long generation, long population, long births, long deaths, long computeNanos) {
+
+        this.generation = generation;
+        this.population = population;
+        this.births = births;
+        this.deaths = deaths;
+        this.lastComputeNanos = computeNanos;
+        this.computeTimes.record(computeNanos);
+
+        long now = System.nanoTime();
+        if (this.sampleCount > 0) {
+            int latest = Math.floorMod(this.sampleIndex - 1, RATE_SAMPLES);
+            if (generation < this.sampleGenerations[latest]) {
+                // moved back through the timeline, so the earlier steps say nothing of the rate.
+                this.sampleCount = 0;
+            }
+        }
+        this.sampleTimes[this.sampleIndex] = now;
+        this.sampleGenerations[this.sampleIndex] = generation;
+        this.sampleIndex = (this.sampleIndex + 1) % RATE_SAMPLES;
+        this.sampleCount = Math.min(this.sampleCount + 1, RATE_SAMPLES);
+
+        if (this.sampleCount > 1) {
+            int oldest = Math.floorMod(this.sampleIndex - this.sampleCount, RATE_SAMPLES);
+            long elapsed = now - this.sampleTimes[oldest];
+            if (elapsed > 0) {
+                this.generationsPerSecond = (generation - this.sampleGenerations[oldest]) * 1e9 / elapsed;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Registers the statistics with the platform MBean server, under the name
+     * OBJECT_DOMAIN:type=SimulationStatistics,name=the given name. Failures are reported to
+     * System.err, as monitoring is never required to run a simulation.
+     * </p>
+     * @param name The name distinguishing the simulation.
+     * @return Boolean evaluation of whether the statistics were registered.
+     */
+    public boolean register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(OBJECT_DOMAIN + ":type=SimulationStatistics,name=" + ObjectName.quote(name)));
+            return true;
+        }
+        catch (JMException | SecurityException $e) {
+            System.err.println($e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    @Override
+    public long getPopulation() {
+        return this.population;
+    }
+
+    @Override
+    public long getBirths() {
+        return this.births;
+    }
+
+    @Override
+    public long getDeaths() {
+        return this.deaths;
+    }
+
+    @Override
+    public long getChangedCells() {
+        long births = this.births;
+        long deaths = this.deaths;
+        return (births < 0 || deaths < 0) ? -1 : births + deaths;
+    }
+
+    @Override
+    public long getStepCount() {
+        return this.computeTimes.getCount();
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return this.generationsPerSecond;
+    }
+
+    @Override
+    public long getLastComputeNanos() {
+        return this.lastComputeNanos;
+    }
+
+    @Override
+    public double getMeanComputeNanos() {
+        return this.computeTimes.getMean();
+    }
+
+    @Override
+    public long getP99ComputeNanos() {
+        return this.computeTimes.getPercentile(99);
+    }
+
+    @Override
+    public long getMaxComputeNanos() {
+        return this.computeTimes.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.computeTimes.reset();
+        this.generationsPerSecond = 0;
+    }
+}
@@ -0,0 +1,74 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Management interface of SimulationStatistics, exposing the statistics of the latest
+ *  generation of a simulation, and the time taken to compute generations, over JMX.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public interface SimulationStatisticsMBean {
+
+    /**
+     * @return The latest generation computed.
+     */
+    long getGeneration();
+
+    /**
+     * @return The number of alive cells at the latest generation.
+     */
+    long getPopulation();
+
+    /**
+     * @return The number of cells born in the latest step, or -1 if not known.
+     */
+    long getBirths();
+
+    /**
+     * @return The number of cells which died in the latest step, or -1 if not known.
+     */
+    long getDeaths();
+
+    /**
+     * @return The number of cells which changed state in the latest step, or -1 if not known.
+     */
+    long getChangedCells();
+
+    /**
+     * @return The number of steps computed since the statistics were last reset.
+     */
+    long getStepCount();
+
+    /**
+     * @return The rate generations were computed at across the latest steps, or zero until
+     *         two steps have been recorded.
+     */
+    double getGenerationsPerSecond();
+
+    /**
+     * @return The time taken to compute the latest step, in nanoseconds.
+     */
+    long getLastComputeNanos();
+
+    /**
+     * @return The mean time taken to compute a step, in nanoseconds.
+     */
+    double getMeanComputeNanos();
+
+    /**
+     * @return The time taken to compute a step at the 99th percentile, in nanoseconds.
+     */
+    long getP99ComputeNanos();
+
+    /**
+     * @return The longest time taken to compute a step, in nanoseconds.
+     */
+    long getMaxComputeNanos();
+
+    /**
+     * Clears the recorded compute times, step count and rate.
+     */
+    void reset();
+}
@@ -0,0 +1,231 @@
+package dominiccobo.gameoflife.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ *  <p>
+ *  Reads frames from a snapshot file, as laid out by SnapshotWriter, by generation and
+ *  without reading the file sequentially.
+ *  </p>
+ *  <p>
+ *  The file is memory mapped a window at a time, as a single mapping may not exceed
+ *  2 GB, so files of any size may be read. A generation is found by a binary search of
+ *  the index table, after which its frame is read straight from its fixed offset.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class SnapshotReader implements Closeable {
+
+    /**
+     * Constant detailing the largest window of the file mapped at once, in bytes.
+     */
+    private static final long WINDOW_BYTES = 256L << 20;
+
+    /**
+     * Loads resource bundle containing all output strings.
+     */
+    private static final ResourceBundle outputStr = ResourceBundle.getBundle("dominiccobo.gameoflife.res.output", Locale.UK);
+
+    /**
+     * Instance variable referencing the channel of the file being read.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Instance variables holding the values of the header.
+     */
+    private final int gridDimensions;
+    private final long frameCount;
+    private final long frameBytes;
+    private final long dataOffset;
+    private final long indexOffset;
+
+    /**
+     * Instance variables holding the currently mapped window of the file and its offset.
+     */
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+
+    /**
+     * <p>
+     * Opens a snapshot file, reading its header.
+     * </p>
+     *
+     * @param fname The file name + directory of the snapshot file.
+     * @throws IOException If the file can not be read or is not a snapshot file.
+     */
+    public SnapshotReader(String fname) throws IOException {
+
+        this.channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(SnapshotWriter.HEADER_BYTES);
+            while (header.hasRemaining() && this.channel.read(header, header.position()) > 0) {}
+            header.flip();
+
+            if (header.remaining() < SnapshotWriter.HEADER_BYTES || header.getInt() != SnapshotWriter.MAGIC
+                    || header.getInt() != SnapshotWriter.VERSION) {
+                throw new IOException(outputStr.getString("snapshot_invalid") + fname);
+            }
+            this.gridDimensions = header.getInt();
+            header.getInt();
+            this.frameCount = header.getLong();
+            this.frameBytes = header.getLong();
+            this.dataOffset = header.getLong();
+            this.indexOffset = header.getLong();
+
+            if (this.indexOffset + this.frameCount * SnapshotWriter.INDEX_ENTRY_BYTES > this.channel.size()) {
+                throw new IOException(outputStr.getString("snapshot_invalid") + fname);
+            }
+        }
+        catch (IOException $e) {
+            this.channel.close();
+            throw $e;
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the generation of a frame, read from the index table.
+     * </p>
+     * @param frameIdx The index of the frame, from zero to getFrameCount().
+     * @return The generation of the frame.
+     * @throws IOException If the file can not be read.
+     */
+    public long getGeneration(long frameIdx) throws IOException {
+        long offset = this.indexOffset + frameIdx * SnapshotWriter.INDEX_ENTRY_BYTES;
+        return map(offset, Long.BYTES).getLong((int) (offset - this.windowStart));
+    }
+
+    /**
+     * <p>
+     * Returns the population of a frame, read from the index table.
+     * </p>
+     * @param frameIdx The index of the frame, from zero to getFrameCount().
+     * @return The number of alive cells in the frame.
+     * @throws IOException If the file can not be read.
+     */
+    public long getPopulation(long frameIdx) throws IOException {
+        long offset = this.indexOffset + frameIdx * SnapshotWriter.INDEX_ENTRY_BYTES + Long.BYTES;
+        return map(offset, Long.BYTES).getLong((int) (offset - this.windowStart));
+    }
+
+    /**
+     * <p>
+     * Finds the frame of the latest generation up to the given generation, by a binary search
+     * of the index table.
+     * </p>
+     * @param generation The generation to find.
+     * @return The index of the frame, or -1 if every frame is of a later generation.
+     * @throws IOException If the file can not be read.
+     */
+    public long findFrame(long generation) throws IOException {
+
+        long low = 0;
+        long high = this.frameCount - 1;
+        long found = -1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            if (getGeneration(middle) <= generation) {
+                found = middle;
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * <p>
+     * Reads a frame into the given array.
+     * </p>
+     * @param frameIdx The index of the frame, from zero to getFrameCount().
+     * @param frame The array to read to, of at least BitFrames.wordCount(getGridDimensions()) words.
+     * @throws IOException If the file can not be read.
+     */
+    public void readFrame(long frameIdx, long[] frame) throws IOException {
+
+        long offset = this.dataOffset + frameIdx * this.frameBytes;
+        ByteBuffer source = map(offset, this.frameBytes).duplicate();
+        source.position((int) (offset - this.windowStart));
+        source.asLongBuffer().get(frame, 0, (int) (this.frameBytes / Long.BYTES));
+    }
+
+    /**
+     * <p>
+     * Loads a frame onto the grid of an engine of the same span, toggling each cell whose
+     * state differs from the frame.
+     * </p>
+     * @param frameIdx The index of the frame, from zero to getFrameCount().
+     * @param engine The engine to load the frame onto.
+     * @throws IOException If the file can not be read.
+     */
+    public void loadFrame(long frameIdx, LifeEngine engine) throws IOException {
+
+        long[] frame = new long[BitFrames.wordCount(this.gridDimensions)];
+        readFrame(frameIdx, frame);
+
+        for (int rowIdx = 0; rowIdx < this.gridDimensions; rowIdx++) {
+            for (int colIdx = 0; colIdx < this.gridDimensions; colIdx++) {
+                if (BitFrames.isCellAlive(frame, this.gridDimensions, rowIdx, colIdx) != engine.isCellAlive(rowIdx, colIdx)) {
+                    engine.toggleState(rowIdx, colIdx);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Ensures a region of the file lies within the mapped window, mapping a new window
+     * starting at the region otherwise.
+     * </p>
+     * @return The mapped window, holding the region from offset - windowStart.
+     * @throws IOException If the file can not be mapped.
+     */
+    private MappedByteBuffer map(long offset, long length) throws IOException {
+
+        if (this.window == null || offset < this.windowStart || offset + length > this.windowStart + this.window.capacity()) {
+            long size = Math.min(Math.max(WINDOW_BYTES, length), this.channel.size() - offset);
+            this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            this.windowStart = offset;
+        }
+        return this.window;
+    }
+
+    /**
+     * Getter method for the n by n dimensions of the frames.
+     * @return The n dimension of the frames.
+     */
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * Getter method for the number of frames in the file.
+     * @return The frame count.
+     */
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * Closes the file.
+     * @throws IOException If the file can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.window = null;
+        this.channel.close();
+    }
+}
@@ -0,0 +1,267 @@
+package dominiccobo.gameoflife.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  <p>
+ *  Writes a run to a snapshot file, a format holding the alive / dead state of every
+ *  cell at each saved generation in fixed size frames, so that any generation may be
+ *  read back directly, see SnapshotReader.
+ *  </p>
+ *  <p>
+ *  A snapshot file is laid out as follows, with every value big endian:
+ *  </p>
+ *  <ul>
+ *      <li>A HEADER_BYTES long header of the int MAGIC, the int VERSION, the int grid span,
+ *      an int of zero, the long frame count, the long size of each frame in bytes, the long
+ *      offset of the first frame and the long offset of the index table, padded with zeros.</li>
+ *      <li>The frames, one after the other from the offset of the first frame. Each is the
+ *      bit packed state of the grid as described by BitFrames, as longs.</li>
+ *      <li>The index table, holding for each frame in turn its long generation and its long
+ *      population. Generations are strictly increasing, so a generation may be found by a
+ *      binary search of the table.</li>
+ *  </ul>
+ *  <p>
+ *  The index table is written after the frames when the writer is closed, so a run may be
+ *  written without knowing its length in advance. Until then its entries are held a chunk
+ *  at a time, any earlier chunks being spilled to a temporary file beside the snapshot file,
+ *  so that runs of any length are written in bounded memory.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class SnapshotWriter implements Closeable {
+
+    /**
+     * Constant detailing the first int of a snapshot file, "GOLP" in ASCII.
+     */
+    public static final int MAGIC = 0x474F4C50;
+
+    /**
+     * Constant detailing the version of the snapshot file layout.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Constant detailing the size of the header in bytes, which is also the offset of the
+     * first frame.
+     */
+    public static final int HEADER_BYTES = 64;
+
+    /**
+     * Constant detailing the size of each entry of the index table in bytes.
+     */
+    public static final int INDEX_ENTRY_BYTES = 16;
+
+    /**
+     * Constant detailing the number of index table entries held in memory at once.
+     */
+    private static final int INDEX_CHUNK_ENTRIES = 4096;
+
+    /**
+     * Instance variables referencing the channel of the file being written and its path.
+     */
+    private final FileChannel channel;
+    private final Path path;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the frames.
+     */
+    private final int gridDimensions;
+
+    /**
+     * Instance variables holding a single frame, as longs and as the bytes written.
+     */
+    private final long[] frame;
+    private final ByteBuffer frameBuffer;
+
+    /**
+     * Instance variable holding the generation and population of each written frame not yet
+     * spilled to the index file, in turn, as the bytes of the index table.
+     */
+    private final ByteBuffer indexChunk = ByteBuffer.allocate(INDEX_CHUNK_ENTRIES * INDEX_ENTRY_BYTES);
+
+    /**
+     * Instance variable referencing the temporary file holding the spilled entries of the
+     * index table, or null until the first chunk is spilled.
+     */
+    private FileChannel indexFile;
+
+    /**
+     * Instance variable detailing the generation of the last written frame.
+     */
+    private long lastGeneration;
+
+    /**
+     * Instance variable detailing the number of written frames.
+     */
+    private long frameCount = 0;
+
+    /**
+     * <p>
+     * Creates, or replaces, a snapshot file for frames of the given span.
+     * </p>
+     *
+     * @param fname The file name + directory of the snapshot file.
+     * @param gridSpan The n dimension of the square grid of each frame.
+     * @throws IOException If the file can not be created.
+     */
+    public SnapshotWriter(String fname, int gridSpan) throws IOException {
+
+        this.gridDimensions = gridSpan;
+        this.frame = new long[BitFrames.wordCount(gridSpan)];
+        this.frameBuffer = ByteBuffer.allocateDirect(this.frame.length * Long.BYTES);
+        this.path = Paths.get(fname).toAbsolutePath();
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        // the header is written again with the final counts once closed.
+        writeHeader(0);
+    }
+
+    /**
+     * <p>
+     * Appends the current state of an engine as the frame of the given generation.
+     * </p>
+     *
+     * @param generation The generation of the frame, greater than that of the previous frame.
+     * @param engine The engine to pack the state of each cell from.
+     * @throws IOException If the file can not be written to.
+     */
+    public void append(long generation, LifeEngine engine) throws IOException {
+        BitFrames.pack(engine, this.frame);
+        append(generation, this.frame);
+    }
+
+    /**
+     * <p>
+     * Appends a bit packed frame as the frame of the given generation.
+     * </p>
+     *
+     * @param generation The generation of the frame, greater than that of the previous frame.
+     * @param packedFrame The frame, as packed by BitFrames for the span of the file.
+     * @throws IOException If the file can not be written to.
+     */
+    public void append(long generation, long[] packedFrame) throws IOException {
+
+        if (this.frameCount > 0 && generation <= this.lastGeneration) {
+            throw new IllegalArgumentException(Long.toString(generation));
+        }
+
+        this.frameBuffer.clear();
+        LongBuffer longs = this.frameBuffer.asLongBuffer();
+        longs.put(packedFrame, 0, this.frame.length);
+        this.frameBuffer.limit(this.frame.length * Long.BYTES);
+        writeFully(this.frameBuffer);
+
+        if (!this.indexChunk.hasRemaining()) {
+            spillIndex();
+        }
+        this.indexChunk.putLong(generation).putLong(BitFrames.population(packedFrame, this.gridDimensions));
+        this.lastGeneration = generation;
+        this.frameCount++;
+    }
+
+    /**
+     * <p>
+     * Spills the held entries of the index table to the index file, creating it beside the
+     * snapshot file the first time, where it is deleted again once closed.
+     * </p>
+     * @throws IOException If the index file can not be written to.
+     */
+    private void spillIndex() throws IOException {
+
+        if (this.indexFile == null) {
+            Path spill = Files.createTempFile(this.path.getParent(), this.path.getFileName().toString(), ".index");
+            this.indexFile = FileChannel.open(spill, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        this.indexChunk.flip();
+        while (this.indexChunk.hasRemaining()) {
+            this.indexFile.write(this.indexChunk);
+        }
+        this.indexChunk.clear();
+    }
+
+    /**
+     * <p>
+     * Writes the index table and final header, then closes the file. Entries spilled to the
+     * index file are copied across by the channel, a chunk at a time.
+     * </p>
+     * @throws IOException If the file can not be written to.
+     */
+    @Override
+    public void close() throws IOException {
+
+        try {
+            long indexOffset = HEADER_BYTES + this.frameCount * this.frameBuffer.capacity();
+            this.channel.position(indexOffset);
+            if (this.indexFile != null) {
+                spillIndex();
+                long spilled = this.indexFile.size();
+                for (long copied = 0; copied < spilled; ) {
+                    copied += this.indexFile.transferTo(copied,
+                            Math.min(spilled - copied, (long) INDEX_CHUNK_ENTRIES * INDEX_ENTRY_BYTES), this.channel);
+                }
+            }
+            else {
+                this.indexChunk.flip();
+                writeFully(this.indexChunk);
+            }
+
+            this.channel.position(0);
+            writeHeader(indexOffset);
+        }
+        finally {
+            try {
+                this.channel.close();
+            }
+            finally {
+                if (this.indexFile != null) {
+                    this.indexFile.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the header for the frames written so far.
+     * @throws IOException If the file can not be written to.
+     */
+    private void writeHeader(long indexOffset) throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(this.gridDimensions).putInt(0)
+                .putLong(this.frameCount).putLong(this.frameBuffer.capacity())
+                .putLong(HEADER_BYTES).putLong(indexOffset);
+        header.clear();
+        writeFully(header);
+    }
+
+    /**
+     * Writes the whole of a buffer to the file.
+     * @throws IOException If the file can not be written to.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+    }
+
+    /**
+     * Getter method for the number of written frames.
+     * @return The frame count.
+     */
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+}
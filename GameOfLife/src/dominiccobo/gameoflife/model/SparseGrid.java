@@ -0,0 +1,201 @@
+package dominiccobo.gameoflife.model;
+
+/**
+ *  <p>
+ *  Models an unbounded universe holding only its alive cells, keyed by their
+ *  coordinates in a primitive hash table.
+ *  </p>
+ *  <p>
+ *  Each mutation every alive cell adds one to the adjacent alive count of each of its
+ *  eight neighbours, and the next mutation is formed from the counted cells alone. The
+ *  memory used and the time taken by a mutation are therefore proportional to the
+ *  number of alive cells, no matter how far apart they are.
+ *  </p>
+ *  <p>
+ *  As with HashLife the universe does not wrap. The n by n grid dimensions only describe
+ *  the window, with its top left cell at the origin, through which cells are read and
+ *  toggled; cells outside of it keep evolving.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class SparseGrid implements LifeEngine {
+
+    /**
+     * Instance variable holding the alive cells of the current mutation.
+     */
+    private CellTable alive = new CellTable();
+
+    /**
+     * Instance variable holding the buffer the next mutation is gathered in, swapped with
+     * alive after each mutation.
+     */
+    private CellTable next = new CellTable();
+
+    /**
+     * Instance variable holding the adjacent alive count of every cell next to an alive cell.
+     */
+    private final CellTable adjacentAlive = new CellTable();
+
+    /**
+     * Instance variable detailing the n by n dimensions of the window cells are accessed through.
+     */
+    private final int gridDimensions;
+
+    /**
+     * Instance variable referencing the rule mutations follow.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated universe.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square window cells are accessed through.
+     */
+    public SparseGrid(int gridSpan) {
+        this.gridDimensions = gridSpan;
+    }
+
+    /**
+     * <p>
+     * Updates the universe to the next mutation based on the rule in use.
+     * </p>
+     */
+    @Override
+    public void getMutation() {
+
+        // count the alive neighbours of every cell adjacent to an alive cell.
+        this.adjacentAlive.clear(this.alive.size() * 8);
+        for (int slot = 0; slot < this.alive.capacity(); slot++) {
+            if (this.alive.valueAt(slot) == 0) continue;
+
+            long key = this.alive.keyAt(slot);
+            int rowIdx = CellTable.row(key);
+            int colIdx = CellTable.col(key);
+
+            this.adjacentAlive.increment(CellTable.key(rowIdx - 1, colIdx - 1));
+            this.adjacentAlive.increment(CellTable.key(rowIdx - 1, colIdx));
+            this.adjacentAlive.increment(CellTable.key(rowIdx - 1, colIdx + 1));
+            this.adjacentAlive.increment(CellTable.key(rowIdx, colIdx - 1));
+            this.adjacentAlive.increment(CellTable.key(rowIdx, colIdx + 1));
+            this.adjacentAlive.increment(CellTable.key(rowIdx + 1, colIdx - 1));
+            this.adjacentAlive.increment(CellTable.key(rowIdx + 1, colIdx));
+            this.adjacentAlive.increment(CellTable.key(rowIdx + 1, colIdx + 1));
+        }
+
+        // the state of a counted cell is only looked up where the rule treats dead and alive cells apart.
+        Rule rule = this.rule;
+        this.next.clear(this.alive.size());
+        for (int slot = 0; slot < this.adjacentAlive.capacity(); slot++) {
+            int aliveCount = this.adjacentAlive.valueAt(slot);
+            if (aliveCount == 0) continue;
+
+            long key = this.adjacentAlive.keyAt(slot);
+            boolean nextAlive = rule.next(false, aliveCount);
+            if (nextAlive != rule.next(true, aliveCount)) {
+                nextAlive = rule.next(this.alive.get(key) != 0, aliveCount);
+            }
+            if (nextAlive) {
+                this.next.put(key, 1);
+            }
+        }
+
+        // a cell with no alive neighbours is never counted, so alive ones are checked apart.
+        if (rule.next(true, 0)) {
+            for (int slot = 0; slot < this.alive.capacity(); slot++) {
+                if (this.alive.valueAt(slot) == 0) continue;
+
+                long key = this.alive.keyAt(slot);
+                if (this.adjacentAlive.get(key) == 0) {
+                    this.next.put(key, 1);
+                }
+            }
+        }
+
+        CellTable swap = this.alive;
+        this.alive = this.next;
+        this.next = swap;
+    }
+
+    /**
+     * <p>
+     * Returns the boolean alive / dead cell status of a specific cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to retrieve the status for.
+     * @param colIdx The column (2d) index of the cell to retrieve the status for.
+     * @return Boolean evaluation of whether a cell is alive or dead.
+     */
+    @Override
+    public boolean isCellAlive(int rowIdx, int colIdx) {
+        return this.alive.get(CellTable.key(rowIdx, colIdx)) != 0;
+    }
+
+    /**
+     * <p>
+     * Toggles the state of a cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to apply the toggle to.
+     * @param colIdx The column (2d) index of the cell to apply the toggle to.
+     */
+    @Override
+    public void toggleState(int rowIdx, int colIdx) {
+        long key = CellTable.key(rowIdx, colIdx);
+        if (this.alive.get(key) != 0) this.alive.remove(key);
+        else this.alive.put(key, 1);
+    }
+
+    /**
+     * <p>
+     * Returns the integer n by n dimensions of the window cells are accessed through.
+     * </p>
+     * @return The integer value of the window dimension.
+     */
+    @Override
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * <p>
+     * Sets the rule mutations follow. Rules under which a dead cell without alive neighbours
+     * is born would fill the unbounded universe, so they are rejected.
+     * </p>
+     * @param rule The rule to follow.
+     * @throws IllegalArgumentException If the rule includes B0.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        if (rule.isBirthOnZero()) {
+            throw new IllegalArgumentException("An unbounded universe can not follow a B0 rule: " + rule);
+        }
+        this.rule = rule;
+    }
+
+    /**
+     * <p>
+     * Returns the rule mutations follow.
+     * </p>
+     * @return The rule in use.
+     */
+    @Override
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * <p>
+     * Returns the number of alive cells in the whole universe, including those outside
+     * of the window.
+     * </p>
+     * @return The count of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        return this.alive.size();
+    }
+}
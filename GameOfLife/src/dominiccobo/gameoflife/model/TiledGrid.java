@@ -0,0 +1,341 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.Arrays;
+
+/**
+ *  <p>
+ *  Models a single instance of a square wrapping grid of defined dimensions n by n,
+ *  split into square tiles which are each flagged as empty, stable or active.
+ *  </p>
+ *  <p>
+ *  A cell can only change state if one of its adjacent cells changed state in the
+ *  previous mutation, so only the tiles which were active in the previous mutation,
+ *  along with the tiles around them, are re-checked. Boards which are large and
+ *  mostly settled therefore cost little more than their active regions. As with
+ *  BitGrid cell ages are not kept, so this engine does not support GRID_TYPE_SHADED.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class TiledGrid implements LifeEngine {
+
+    /**
+     * Constant detailing the default n by n span of each tile.
+     */
+    public static final int DEFAULT_TILE_SPAN = 64;
+
+    /**
+     * Constant int value association for a tile without any alive cells which did not
+     * change in the last mutation.
+     */
+    public static final int TILE_EMPTY = 0;
+
+    /**
+     * Constant int value association for a tile with alive cells which did not change in
+     * the last mutation.
+     */
+    public static final int TILE_STABLE = 1;
+
+    /**
+     * Constant int value association for a tile in which at least one cell changed in the
+     * last mutation, or was toggled since.
+     */
+    public static final int TILE_ACTIVE = 2;
+
+    /**
+     * Instance variable detailing the n by n dimensions of a square grid.
+     */
+    private final int gridDimensions;
+
+    /**
+     * Instance variables detailing the span of each tile and the number of tiles along a side.
+     */
+    private final int tileSpan;
+    private final int tilesPerSide;
+
+    /**
+     * Instance variable holding the state of each cell row by row, one for alive and zero for dead.
+     */
+    private final byte[] cells;
+
+    /**
+     * Instance variables holding, for each row or column index, the index before and after it
+     * with the edges wrapped around.
+     */
+    private final int[] previousIdx;
+    private final int[] nextIdx;
+
+    /**
+     * Instance variables holding the state and alive cell count of each tile, row by row.
+     */
+    private final int[] tileState;
+    private final int[] tilePopulation;
+
+    /**
+     * Instance variable holding whether each tile is to be re-checked in the current mutation.
+     */
+    private final boolean[] tileScheduled;
+
+    /**
+     * Instance variables holding the cells found to change state in the current mutation.
+     */
+    private final int[] changedCells;
+    private int changedCount = 0;
+
+    /**
+     * Instance variable referencing the rule mutations follow.
+     */
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated tiled grid with tiles of the default span.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square grid to be modelled.
+     */
+    public TiledGrid(int gridSpan) {
+        this(gridSpan, DEFAULT_TILE_SPAN);
+    }
+
+    /**
+     * <p>
+     * Constructor to create a fresh unpopulated tiled grid.
+     * </p>
+     *
+     * @param gridSpan The n dimension of the square grid to be modelled.
+     * @param tileSpan The n dimension of each square tile.
+     */
+    public TiledGrid(int gridSpan, int tileSpan) {
+
+        this.gridDimensions = gridSpan;
+        this.tileSpan = tileSpan;
+        this.tilesPerSide = (gridSpan + tileSpan - 1) / tileSpan;
+
+        this.cells = new byte[gridSpan * gridSpan];
+        this.changedCells = new int[gridSpan * gridSpan];
+
+        this.previousIdx = new int[gridSpan];
+        this.nextIdx = new int[gridSpan];
+        for (int i = 0; i < gridSpan; i++) {
+            this.previousIdx[i] = (i == 0) ? gridSpan - 1 : i - 1;
+            this.nextIdx[i] = (i == gridSpan - 1) ? 0 : i + 1;
+        }
+
+        int tileCount = this.tilesPerSide * this.tilesPerSide;
+        this.tileState = new int[tileCount];
+        this.tilePopulation = new int[tileCount];
+        this.tileScheduled = new boolean[tileCount];
+    }
+
+    /**
+     * <p>
+     * Updates the grid to the next mutation based on the rule in use.
+     * </p>
+     * <p>
+     * Every active tile schedules itself and its eight surrounding tiles to be re-checked.
+     * The cells which change state in the scheduled tiles are gathered first and only written
+     * once all have been checked, after which each tile is flagged according to its changes
+     * and population.
+     * </p>
+     */
+    @Override
+    public void getMutation() {
+
+        Arrays.fill(this.tileScheduled, false);
+        for (int tileRow = 0; tileRow < this.tilesPerSide; tileRow++) {
+            for (int tileCol = 0; tileCol < this.tilesPerSide; tileCol++) {
+                if (this.tileState[tileRow * this.tilesPerSide + tileCol] != TILE_ACTIVE) continue;
+
+                for (int rowOffset = -1; rowOffset <= 1; rowOffset++) {
+                    for (int colOffset = -1; colOffset <= 1; colOffset++) {
+                        int row = (tileRow + rowOffset + this.tilesPerSide) % this.tilesPerSide;
+                        int col = (tileCol + colOffset + this.tilesPerSide) % this.tilesPerSide;
+                        this.tileScheduled[row * this.tilesPerSide + col] = true;
+                    }
+                }
+            }
+        }
+
+        this.changedCount = 0;
+        for (int tileIdx = 0; tileIdx < this.tileScheduled.length; tileIdx++) {
+            if (this.tileScheduled[tileIdx]) checkTile(tileIdx);
+        }
+
+        // every tile settles unless a change is applied to it below.
+        for (int tileIdx = 0; tileIdx < this.tileState.length; tileIdx++) {
+            this.tileState[tileIdx] = (this.tilePopulation[tileIdx] == 0) ? TILE_EMPTY : TILE_STABLE;
+        }
+        for (int i = 0; i < this.changedCount; i++) {
+            int cellIdx = this.changedCells[i];
+            flipCell(cellIdx / this.gridDimensions, cellIdx % this.gridDimensions);
+        }
+    }
+
+    /**
+     * <p>
+     * Checks every cell of a tile against the current mutation, gathering those which change.
+     * </p>
+     *
+     * @param tileIdx The row major index of the tile to check.
+     */
+    private void checkTile(int tileIdx) {
+
+        int fromRow = (tileIdx / this.tilesPerSide) * this.tileSpan;
+        int fromCol = (tileIdx % this.tilesPerSide) * this.tileSpan;
+        int toRow = Math.min(fromRow + this.tileSpan, this.gridDimensions);
+        int toCol = Math.min(fromCol + this.tileSpan, this.gridDimensions);
+        Rule rule = this.rule;
+
+        for (int rowIdx = fromRow; rowIdx < toRow; rowIdx++) {
+            int above = this.previousIdx[rowIdx] * this.gridDimensions;
+            int middle = rowIdx * this.gridDimensions;
+            int below = this.nextIdx[rowIdx] * this.gridDimensions;
+
+            for (int colIdx = fromCol; colIdx < toCol; colIdx++) {
+                int west = this.previousIdx[colIdx];
+                int east = this.nextIdx[colIdx];
+
+                int aliveCount = this.cells[above + west] + this.cells[above + colIdx] + this.cells[above + east]
+                        + this.cells[middle + west] + this.cells[middle + east]
+                        + this.cells[below + west] + this.cells[below + colIdx] + this.cells[below + east];
+
+                boolean alive = this.cells[middle + colIdx] != 0;
+                if (rule.next(alive, aliveCount) != alive) {
+                    this.changedCells[this.changedCount++] = middle + colIdx;
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Flips the state of a cell, keeping the population of its tile up to date and flagging
+     * the tile as active.
+     * </p>
+     */
+    private void flipCell(int rowIdx, int colIdx) {
+
+        int cellIdx = rowIdx * this.gridDimensions + colIdx;
+        int tileIdx = (rowIdx / this.tileSpan) * this.tilesPerSide + colIdx / this.tileSpan;
+
+        this.cells[cellIdx] ^= 1;
+        this.tilePopulation[tileIdx] += (this.cells[cellIdx] != 0) ? 1 : -1;
+        this.tileState[tileIdx] = TILE_ACTIVE;
+    }
+
+    /**
+     * <p>
+     * Sets the rule mutations follow. Tiles settled under the previous rule may change under
+     * the new one, so every tile is flagged as active. Rules under which a dead cell without
+     * alive neighbours is born would change empty tiles, which are never checked, so they are
+     * rejected.
+     * </p>
+     * @param rule The rule to follow.
+     * @throws IllegalArgumentException If the rule includes B0.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        if (rule.isBirthOnZero()) {
+            throw new IllegalArgumentException("A tiled grid can not follow a B0 rule: " + rule);
+        }
+        if (!this.rule.equals(rule)) {
+            this.rule = rule;
+            Arrays.fill(this.tileState, TILE_ACTIVE);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the rule mutations follow.
+     * </p>
+     * @return The rule in use.
+     */
+    @Override
+    public Rule getRule() {
+        return this.rule;
+    }
+
+    /**
+     * <p>
+     * Returns the state of a tile, see TILE_EMPTY, TILE_STABLE and TILE_ACTIVE.
+     * </p>
+     *
+     * @param tileRow The row index of the tile.
+     * @param tileCol The column index of the tile.
+     * @return The state the tile was left in by the last mutation.
+     */
+    public int getTileState(int tileRow, int tileCol) {
+        return this.tileState[tileRow * this.tilesPerSide + tileCol];
+    }
+
+    /**
+     * Getter method for the number of tiles along each side of the grid.
+     * @return The number of tiles per side.
+     */
+    public int getTilesPerSide() {
+        return this.tilesPerSide;
+    }
+
+    /**
+     * Getter method for the span of each tile.
+     * @return The n dimension of each square tile.
+     */
+    public int getTileSpan() {
+        return this.tileSpan;
+    }
+
+    /**
+     * <p>
+     * Returns the boolean alive / dead cell status of a specific cell.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to retrieve the status for.
+     * @param colIdx The column (2d) index of the cell to retrieve the status for.
+     * @return Boolean evaluation of whether a cell is alive or dead.
+     */
+    @Override
+    public boolean isCellAlive(int rowIdx, int colIdx) {
+        return this.cells[rowIdx * this.gridDimensions + colIdx] != 0;
+    }
+
+    /**
+     * <p>
+     * Toggles the state of a cell, flagging its tile as active.
+     * </p>
+     *
+     * @param rowIdx The row (1d) index of the cell to apply the toggle to.
+     * @param colIdx The column (2d) index of the cell to apply the toggle to.
+     */
+    @Override
+    public void toggleState(int rowIdx, int colIdx) {
+        flipCell(rowIdx, colIdx);
+    }
+
+    /**
+     * <p>
+     * Returns the integer n by n grid dimensions for the current grid.
+     * </p>
+     * @return The integer value of the grid dimension.
+     */
+    @Override
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * <p>
+     * Returns the number of alive cells, summed from the population of each tile.
+     * </p>
+     * @return The count of alive cells.
+     */
+    @Override
+    public long getPopulation() {
+        long population = 0;
+        for (int tilePopulation : this.tilePopulation) {
+            population += tilePopulation;
+        }
+        return population;
+    }
+}
@@ -0,0 +1,796 @@
+package dominiccobo.gameoflife.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ *  <p>
+ *  Bounded record of the alive / dead state of a grid at each past generation, allowing a
+ *  run to be rewound, scrubbed through and seeked to any recorded generation.
+ *  </p>
+ *  <p>
+ *  Generations are held in segments. Each segment starts with a keyframe, the bit packed
+ *  state of the grid as described by BitFrames, followed by up to KEYFRAME_INTERVAL - 1
+ *  deltas, each the cells which changed state since the generation before it, either as a
+ *  list of cell indexes or as a bit packed frame of flipped cells, whichever is smaller.
+ *  A generation is found by a binary search of the segments, then decoded from the keyframe
+ *  of its segment.
+ *  </p>
+ *  <p>
+ *  Memory is bounded by a memory cap. Once exceeded, the deltas of the oldest segments are
+ *  dropped first, as they follow from their keyframe by the mutation rules. Should that not
+ *  suffice, every other keyframe of the thinned segments is dropped, merging their segments,
+ *  and as a last resort the oldest segment is dropped. Seeking into a thinned segment
+ *  recomputes the run of at most KEYFRAME_INTERVAL generations holding the generation,
+ *  splitting it from the rest of the segment, along with as many short thinned segments
+ *  before it as fit within the memory cap, concurrently across cores, since a rewind is
+ *  likely to move into them next. Memory is then brought back within the cap, so seeking
+ *  never holds more than the cap plus a single run.
+ *  </p>
+ *  <p>
+ *  Successive generations are assumed to follow by a single mutation of a grid under the
+ *  rule it follows, any other change being recorded as an edit, see record(). Each segment
+ *  holds the rule its generations follow by, and a change of rule starts a new segment.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class Timeline {
+
+    /**
+     * Constant detailing the default memory cap of a timeline, in bytes.
+     */
+    public static final long DEFAULT_MEMORY_CAP = 64L << 20;
+
+    /**
+     * Constant detailing the number of generations held by each segment, before it is thinned.
+     */
+    public static final int KEYFRAME_INTERVAL = 64;
+
+    /**
+     * Constant detailing the approximate memory overhead of each array and segment, in bytes,
+     * used when estimating memory usage.
+     */
+    private static final int OBJECT_OVERHEAD = 16;
+
+    /**
+     * <p>
+     * A run of successive generations, starting with a keyframe. The delta of the generation
+     * at offset i + 1 is held in either changedCells[i] or flippedCells[i], both arrays being
+     * null once the segment is thinned. A segment whose keyframe does not follow from the
+     * generation before it, as after an edit, is never merged into the segment before it.
+     * </p>
+     */
+    private static final class Segment {
+
+        private final long generation;
+        private final long[] keyframe;
+        private long length = 1;
+        private int[][] changedCells;
+        private long[][] flippedCells;
+        private long deltaMemory = 0;
+        private final boolean edited;
+        private final Rule rule;
+
+        private Segment(long generation, long[] keyframe, boolean edited, Rule rule) {
+            this.generation = generation;
+            this.keyframe = keyframe;
+            this.edited = edited;
+            this.rule = rule;
+            this.changedCells = new int[8][];
+            this.flippedCells = new long[8][];
+        }
+
+        private boolean isThinned() {
+            return this.changedCells == null;
+        }
+
+        private long getLastGeneration() {
+            return this.generation + this.length - 1;
+        }
+    }
+
+    /**
+     * Instance variable holding the segments, oldest first.
+     */
+    private final ArrayList<Segment> segments = new ArrayList<>();
+
+    /**
+     * Instance variable holding the segments recomputed by the last seek, which are thinned
+     * again before any others.
+     */
+    private final ArrayList<Segment> restored = new ArrayList<>();
+
+    /**
+     * Instance variable holding the bit packed state of the newest recorded generation.
+     */
+    private long[] newestFrame;
+
+    /**
+     * Instance variable holding a bit packed frame, used whilst encoding.
+     */
+    private long[] scratchFrame;
+
+    /**
+     * Instance variable holding the indexes of changed cells, used whilst encoding.
+     */
+    private int[] scratchChanges;
+
+    /**
+     * Instance variable detailing the number of entries of the grid's change set already
+     * recorded, or -1 if the change set can not be relied upon.
+     */
+    private int consumedChanges = -1;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the held generations.
+     */
+    private int gridDimensions = 0;
+
+    /**
+     * Instance variable detailing the number of leading segments known to be thinned.
+     */
+    private int thinnedCount = 0;
+
+    /**
+     * Instance variables detailing the memory cap and the estimated memory usage, in bytes.
+     */
+    private long memoryCap = DEFAULT_MEMORY_CAP;
+    private long memoryUsage = 0;
+
+    /**
+     * Instance variable detailing the number of threads thinned segments are recomputed with.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Instance variable referencing the pool thinned segments are recomputed on, created when
+     * first needed.
+     */
+    private ForkJoinPool restorePool;
+
+    /**
+     * <p>
+     * Records the current state of a grid as its state at the given generation.
+     * </p>
+     * <ul>
+     *     <li>A generation after the newest is appended, as a delta where it directly follows
+     *     the newest and as a keyframe otherwise.</li>
+     *     <li>The newest generation is amended with any cell toggled since it was recorded.
+     *     Calling record() with the current generation before each mutation therefore keeps
+     *     edits made between mutations.</li>
+     *     <li>An earlier generation, as after a seek, drops every generation after it before
+     *     being amended, so the run branches from it.</li>
+     * </ul>
+     * <p>
+     * The history is cleared first if the grid's dimensions differ from those of the held
+     * generations.
+     * </p>
+     *
+     * @param generation The generation the grid is at.
+     * @param grid The grid to record the current state of.
+     */
+    public synchronized void record(long generation, Grid grid) {
+
+        int span = grid.getGridDimensions();
+        if (this.segments.isEmpty() || span != this.gridDimensions || generation < this.segments.get(0).generation) {
+            clear();
+            this.gridDimensions = span;
+            this.newestFrame = new long[BitFrames.wordCount(span)];
+            this.scratchFrame = new long[this.newestFrame.length];
+            this.scratchChanges = new int[span * span];
+
+            BitFrames.pack(grid, this.newestFrame);
+            appendKeyframe(generation, true, grid.getRule());
+            this.consumedChanges = grid.isChangeSetValid() ? grid.getChangedCount() : -1;
+            return;
+        }
+
+        long newest = getLastGeneration();
+        if (generation <= newest) {
+            if (generation < newest) {
+                truncate(generation, grid);
+            }
+            amend(grid);
+            return;
+        }
+
+        int changes = gatherChanges(grid, 0);
+        this.consumedChanges = grid.isChangeSetValid() ? grid.getChangedCount() : -1;
+
+        // a generation reached under another rule does not follow from the segment's rule.
+        Segment last = this.segments.get(this.segments.size() - 1);
+        boolean follows = generation == newest + 1 && last.rule.equals(grid.getRule());
+        if (follows && !last.isThinned() && last.length < KEYFRAME_INTERVAL) {
+            appendDelta(last, changes);
+        }
+        else {
+            appendKeyframe(generation, !follows, grid.getRule());
+        }
+        trim();
+    }
+
+    /**
+     * <p>
+     * Applies any cell toggled since the newest generation was recorded to it. A toggled
+     * generation no longer follows from the one before it, so unless it is a keyframe it is
+     * moved into a segment of its own.
+     * </p>
+     */
+    private void amend(Grid grid) {
+
+        int changes = gatherChanges(grid, Math.max(this.consumedChanges, 0));
+        this.consumedChanges = grid.isChangeSetValid() ? grid.getChangedCount() : -1;
+        if (changes == 0) return;
+
+        long newest = getLastGeneration();
+        Segment last = this.segments.get(this.segments.size() - 1);
+        if (last.length == 1) {
+            this.memoryUsage -= getKeyframeMemory() + last.deltaMemory;
+            this.segments.remove(this.segments.size() - 1);
+            this.restored.remove(last);
+            this.thinnedCount = Math.min(this.thinnedCount, this.segments.size());
+        }
+        else {
+            if (!last.isThinned()) {
+                dropDeltas(last, last.length - 2);
+            }
+            last.length--;
+        }
+        appendKeyframe(newest, true, grid.getRule());
+        trim();
+    }
+
+    /**
+     * <p>
+     * Drops every generation after the given one, setting the newest frame to the state at
+     * it. Should the generation not be held, the grid is taken as its state instead.
+     * </p>
+     */
+    private void truncate(long generation, Grid grid) {
+
+        int segmentIdx = findSegment(generation);
+        Segment segment = this.segments.get(segmentIdx);
+        if (generation <= segment.getLastGeneration()) {
+            // decoding a thinned segment may split it, the generation falling in a segment of its own.
+            decode(segment, generation - segment.generation, this.newestFrame);
+            segmentIdx = findSegment(generation);
+            segment = this.segments.get(segmentIdx);
+        }
+        while (this.segments.size() > segmentIdx + 1) {
+            Segment dropped = this.segments.remove(this.segments.size() - 1);
+            this.memoryUsage -= getKeyframeMemory() + dropped.deltaMemory;
+            this.restored.remove(dropped);
+        }
+        this.thinnedCount = Math.min(this.thinnedCount, this.segments.size());
+
+        if (generation > segment.getLastGeneration()) {
+            BitFrames.pack(grid, this.newestFrame);
+            appendKeyframe(generation, true, grid.getRule());
+        }
+        else {
+            if (!segment.isThinned()) {
+                dropDeltas(segment, generation - segment.generation);
+                // the segment is now the newest, which trim() never thins.
+                this.restored.remove(segment);
+                this.thinnedCount = Math.min(this.thinnedCount, this.segments.size() - 1);
+            }
+            segment.length = generation - segment.generation + 1;
+        }
+        this.consumedChanges = -1;
+    }
+
+    /**
+     * <p>
+     * Gathers the cells which changed state since the newest frame into the scratch changes,
+     * applying them to the newest frame. The grid's change set is used from the given entry
+     * where valid, otherwise the grid is packed and compared with the newest frame.
+     * </p>
+     * @return The number of changed cells gathered.
+     */
+    private int gatherChanges(Grid grid, int fromEntry) {
+
+        int count = 0;
+        if (grid.isChangeSetValid() && this.consumedChanges >= 0 && grid.getChangedCount() >= fromEntry
+                && grid.getChangedCount() - fromEntry <= this.scratchChanges.length) {
+            for (int i = fromEntry; i < grid.getChangedCount(); i++) {
+                int cellIdx = grid.getChangedCell(i);
+                this.newestFrame[cellIdx >>> 6] ^= 1L << cellIdx;
+                this.scratchChanges[count++] = cellIdx;
+            }
+            return count;
+        }
+
+        BitFrames.pack(grid, this.scratchFrame);
+        for (int w = 0; w < this.newestFrame.length; w++) {
+            long flipped = this.newestFrame[w] ^ this.scratchFrame[w];
+            while (flipped != 0) {
+                this.scratchChanges[count++] = (w << 6) + Long.numberOfTrailingZeros(flipped);
+                flipped &= flipped - 1;
+            }
+        }
+        long[] swap = this.newestFrame;
+        this.newestFrame = this.scratchFrame;
+        this.scratchFrame = swap;
+        return count;
+    }
+
+    /**
+     * Starts a new segment with the newest frame as its keyframe, its generations following by the given rule.
+     */
+    private void appendKeyframe(long generation, boolean edited, Rule rule) {
+        this.segments.add(new Segment(generation, Arrays.copyOf(this.newestFrame, this.newestFrame.length), edited, rule));
+        this.memoryUsage += getKeyframeMemory();
+    }
+
+    /**
+     * Appends the gathered scratch changes to a segment as the delta of its next generation.
+     */
+    private void appendDelta(Segment segment, int changes) {
+        storeDelta(segment, (int) segment.length - 1, this.scratchChanges, changes, this.newestFrame.length);
+        segment.length++;
+        this.memoryUsage += getDeltaMemory(segment, (int) segment.length - 2);
+    }
+
+    /**
+     * <p>
+     * Stores a delta into a segment, as the given cell indexes or as a frame of flipped
+     * cells if that is smaller. The segment's delta memory is updated, but not the memory
+     * usage of the timeline.
+     * </p>
+     */
+    private static void storeDelta(Segment segment, int deltaIdx, int[] changes, int count, int frameWords) {
+
+        if (deltaIdx >= segment.changedCells.length) {
+            int capacity = (int) Math.min(Math.max(deltaIdx + 1, segment.changedCells.length * 2L), Integer.MAX_VALUE);
+            segment.changedCells = Arrays.copyOf(segment.changedCells, capacity);
+            segment.flippedCells = Arrays.copyOf(segment.flippedCells, capacity);
+        }
+
+        if (4L * count < 8L * frameWords) {
+            segment.changedCells[deltaIdx] = Arrays.copyOf(changes, count);
+        }
+        else {
+            long[] flipped = new long[frameWords];
+            for (int i = 0; i < count; i++) {
+                flipped[changes[i] >>> 6] ^= 1L << changes[i];
+            }
+            segment.flippedCells[deltaIdx] = flipped;
+        }
+        segment.deltaMemory += getDeltaMemory(segment, deltaIdx);
+    }
+
+    /**
+     * Drops the deltas of a segment from the given one onwards.
+     */
+    private void dropDeltas(Segment segment, long fromDelta) {
+        for (long i = fromDelta; i < segment.length - 1; i++) {
+            long memory = getDeltaMemory(segment, (int) i);
+            segment.changedCells[(int) i] = null;
+            segment.flippedCells[(int) i] = null;
+            segment.deltaMemory -= memory;
+            this.memoryUsage -= memory;
+        }
+    }
+
+    /**
+     * Drops every delta of a segment, thinning it.
+     */
+    private void thin(Segment segment) {
+        if (segment.isThinned()) return;
+        this.memoryUsage -= segment.deltaMemory;
+        segment.deltaMemory = 0;
+        segment.changedCells = null;
+        segment.flippedCells = null;
+    }
+
+    /**
+     * <p>
+     * Brings the estimated memory usage within the memory cap, thinning recomputed segments
+     * other than the run recomputed by the last seek, then the oldest segments, then every
+     * other keyframe of the thinned segments, then the run itself, and as a last resort
+     * dropping the oldest segments. The newest segment is always kept whole.
+     * </p>
+     */
+    private void trim() {
+
+        while (this.memoryUsage > this.memoryCap && this.segments.size() > 1) {
+
+            // the run recomputed by the last seek is the newest restored, kept whilst others go.
+            if (this.restored.size() > 1) {
+                thin(this.restored.remove(this.restored.size() - 1));
+                continue;
+            }
+            if (this.thinnedCount < this.segments.size() - 1) {
+                thin(this.segments.get(this.thinnedCount++));
+                continue;
+            }
+            if (mergeThinned()) continue;
+            if (!this.restored.isEmpty()) {
+                thin(this.restored.remove(0));
+                continue;
+            }
+
+            this.segments.remove(0);
+            this.memoryUsage -= getKeyframeMemory();
+            this.thinnedCount = Math.max(this.thinnedCount - 1, 0);
+        }
+    }
+
+    /**
+     * <p>
+     * Drops every other keyframe of the thinned segments, merging each dropped segment into the
+     * one before it where its keyframe follows from that segment. A run recomputed by the last
+     * seek is left as it is, along with the segments either side of it.
+     * </p>
+     * @return Boolean evaluation of whether any keyframe was dropped.
+     */
+    private boolean mergeThinned() {
+
+        ArrayList<Segment> kept = new ArrayList<>(this.segments.size());
+        boolean merged = false;
+        int segmentIdx = 0;
+        while (segmentIdx < this.thinnedCount) {
+            Segment segment = this.segments.get(segmentIdx);
+            kept.add(segment);
+            if (segmentIdx + 1 < this.thinnedCount && !this.segments.get(segmentIdx + 1).edited
+                    && segment.isThinned() && this.segments.get(segmentIdx + 1).isThinned()
+                    && this.segments.get(segmentIdx + 1).generation == segment.getLastGeneration() + 1) {
+                segment.length += this.segments.get(segmentIdx + 1).length;
+                this.memoryUsage -= getKeyframeMemory();
+                merged = true;
+                segmentIdx++;
+            }
+            segmentIdx++;
+        }
+        if (!merged) return false;
+
+        this.thinnedCount = kept.size();
+        kept.addAll(this.segments.subList(segmentIdx, this.segments.size()));
+        this.segments.clear();
+        this.segments.addAll(kept);
+        return true;
+    }
+
+    /**
+     * <p>
+     * Decodes the state at the latest held generation up to the given generation.
+     * </p>
+     * @param generation The generation to seek to.
+     * @param frame The array to decode the bit packed state into, of at least
+     *              BitFrames.wordCount(getGridDimensions()) words.
+     * @return The generation decoded, or -1 if no generation up to the given one is held.
+     */
+    public synchronized long seek(long generation, long[] frame) {
+
+        if (this.segments.isEmpty() || generation < this.segments.get(0).generation) return -1;
+
+        Segment segment = this.segments.get(findSegment(generation));
+        long offset = Math.min(generation - segment.generation, segment.length - 1);
+        decode(segment, offset, frame);
+        trim();
+        return segment.generation + offset;
+    }
+
+    /**
+     * @return The index of the segment holding, or last before, the given generation.
+     */
+    private int findSegment(long generation) {
+
+        int low = 0;
+        int high = this.segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.segments.get(middle).generation <= generation) {
+                low = middle;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * <p>
+     * Decodes the state at an offset into a segment. A thinned segment is first recomputed
+     * around the offset, see restore(), the state being decoded from the recomputed run.
+     * </p>
+     */
+    private void decode(Segment segment, long offset, long[] frame) {
+
+        if (offset > 0 && segment.isThinned()) {
+            long runStart = offset - offset % KEYFRAME_INTERVAL;
+            segment = restore(segment, runStart);
+            offset -= runStart;
+        }
+
+        System.arraycopy(segment.keyframe, 0, frame, 0, segment.keyframe.length);
+        for (int i = 0; i < offset; i++) {
+            int[] changes = segment.changedCells[i];
+            if (changes != null) {
+                for (int cellIdx : changes) {
+                    frame[cellIdx >>> 6] ^= 1L << cellIdx;
+                }
+            }
+            else {
+                long[] flipped = segment.flippedCells[i];
+                for (int w = 0; w < flipped.length; w++) {
+                    frame[w] ^= flipped[w];
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Recomputes the run of generations of a thinned segment from the given offset, of at most
+     * KEYFRAME_INTERVAL generations, splitting the segment into the generations before the run,
+     * the run itself and the generations after it, the first and last staying thinned. Segments
+     * recomputed by an earlier seek are thinned again first.
+     * </p>
+     * <p>
+     * Thinned segments before the run no longer than KEYFRAME_INTERVAL are then recomputed
+     * too, concurrently, for as long as the most their deltas could take fits within the
+     * memory left under the memory cap.
+     * </p>
+     * @param segment The thinned segment to recompute.
+     * @param runStart The offset into the segment of the first generation of the run.
+     * @return The segment holding the recomputed run, starting at runStart.
+     */
+    private Segment restore(Segment segment, long runStart) {
+
+        while (!this.restored.isEmpty()) {
+            thin(this.restored.remove(this.restored.size() - 1));
+        }
+
+        int span = this.gridDimensions;
+        int segmentIdx = this.segments.indexOf(segment);
+        long length = segment.length;
+        long runEnd = Math.min(runStart + KEYFRAME_INTERVAL, length);
+        long[] tailFrame = (runEnd < length) ? new long[segment.keyframe.length] : null;
+
+        Segment run = recompute(segment, runStart, runEnd, span, tailFrame);
+        if (runStart > 0) {
+            segment.length = runStart;
+            insertSegment(++segmentIdx, run);
+        }
+        else {
+            this.segments.set(segmentIdx, run);
+        }
+        if (tailFrame != null) {
+            Segment tail = new Segment(segment.generation + runEnd, tailFrame, false, segment.rule);
+            tail.length = length - runEnd;
+            tail.changedCells = null;
+            tail.flippedCells = null;
+            insertSegment(segmentIdx + 1, tail);
+        }
+        this.memoryUsage += run.deltaMemory;
+        this.restored.add(run);
+
+        // the most a delta can take is a whole frame of flipped cells.
+        long headroom = this.memoryCap - this.memoryUsage;
+        long deltaLimit = OBJECT_OVERHEAD + 8L * segment.keyframe.length;
+        List<Integer> batch = new ArrayList<>();
+        for (int candidateIdx = segmentIdx - 1; candidateIdx >= 0; candidateIdx--) {
+            Segment candidate = this.segments.get(candidateIdx);
+            if (!candidate.isThinned() || candidate.length > KEYFRAME_INTERVAL) break;
+            headroom -= (candidate.length - 1) * deltaLimit;
+            if (headroom < 0) break;
+            if (candidate.length > 1) batch.add(candidateIdx);
+        }
+
+        if (!batch.isEmpty()) {
+            if (this.restorePool == null) {
+                this.restorePool = new ForkJoinPool(this.parallelism);
+            }
+            List<Callable<Segment>> tasks = new ArrayList<>(batch.size());
+            for (int candidateIdx : batch) {
+                Segment candidate = this.segments.get(candidateIdx);
+                tasks.add(() -> recompute(candidate, 0, candidate.length, span, null));
+            }
+
+            List<Future<Segment>> results = this.restorePool.invokeAll(tasks);
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    Segment recomputed = results.get(i).get();
+                    this.segments.set(batch.get(i), recomputed);
+                    this.memoryUsage += recomputed.deltaMemory;
+                    this.restored.add(recomputed);
+                }
+                catch (InterruptedException | ExecutionException $e) {
+                    throw new IllegalStateException($e);
+                }
+            }
+        }
+        // thinned again first by trim(), which takes from the end, so oldest first.
+        this.restored.sort((a, b) -> Long.compare(b.generation, a.generation));
+        return run;
+    }
+
+    /**
+     * Inserts a segment split from a thinned segment, counting its keyframe.
+     */
+    private void insertSegment(int segmentIdx, Segment segment) {
+        this.segments.add(segmentIdx, segment);
+        this.memoryUsage += getKeyframeMemory();
+        if (segmentIdx <= this.thinnedCount) {
+            this.thinnedCount++;
+        }
+    }
+
+    /**
+     * <p>
+     * Recomputes the generations of a thinned segment between two offsets by mutating its
+     * keyframe with a BitGrid under the segment's rule, as a segment of its own. Touches
+     * nothing but the arguments, so that segments may be recomputed concurrently.
+     * </p>
+     * @param segment The thinned segment to recompute.
+     * @param fromOffset The offset of the first generation to recompute.
+     * @param toOffset The offset after the last generation to recompute.
+     * @param tailFrame The array to write the state at toOffset to, or null if not needed.
+     * @return The recomputed segment, holding a delta for each generation after its first.
+     */
+    private static Segment recompute(Segment segment, long fromOffset, long toOffset, int span, long[] tailFrame) {
+
+        BitGrid engine = new BitGrid(span);
+        engine.setRule(segment.rule);
+        for (int w = 0; w < segment.keyframe.length; w++) {
+            for (long alive = segment.keyframe[w]; alive != 0; alive &= alive - 1) {
+                int cellIdx = (w << 6) + Long.numberOfTrailingZeros(alive);
+                engine.toggleState(cellIdx / span, cellIdx % span);
+            }
+        }
+
+        long[] previous = new long[segment.keyframe.length];
+        for (long offset = 0; offset < fromOffset; offset++) {
+            engine.getMutation();
+        }
+        BitFrames.pack(engine, previous);
+
+        Segment run = new Segment(segment.generation + fromOffset, Arrays.copyOf(previous, previous.length),
+                fromOffset == 0 && segment.edited, segment.rule);
+        run.length = toOffset - fromOffset;
+
+        long[] next = new long[previous.length];
+        int[] changes = new int[span * span];
+        int capacity = (int) (run.length - 1);
+        run.changedCells = new int[capacity][];
+        run.flippedCells = new long[capacity][];
+
+        for (int deltaIdx = 0; deltaIdx < capacity; deltaIdx++) {
+            engine.getMutation();
+            BitFrames.pack(engine, next);
+
+            int count = 0;
+            for (int w = 0; w < next.length; w++) {
+                for (long flipped = previous[w] ^ next[w]; flipped != 0; flipped &= flipped - 1) {
+                    changes[count++] = (w << 6) + Long.numberOfTrailingZeros(flipped);
+                }
+            }
+            storeDelta(run, deltaIdx, changes, count, next.length);
+
+            long[] swap = previous;
+            previous = next;
+            next = swap;
+        }
+
+        if (tailFrame != null) {
+            engine.getMutation();
+            BitFrames.pack(engine, tailFrame);
+        }
+        return run;
+    }
+
+    /**
+     * @return The estimated memory usage of a delta of a segment, in bytes.
+     */
+    private static long getDeltaMemory(Segment segment, int deltaIdx) {
+        if (segment.changedCells[deltaIdx] != null) {
+            return OBJECT_OVERHEAD + 4L * segment.changedCells[deltaIdx].length;
+        }
+        if (segment.flippedCells[deltaIdx] != null) {
+            return OBJECT_OVERHEAD + 8L * segment.flippedCells[deltaIdx].length;
+        }
+        return 0;
+    }
+
+    /**
+     * @return The estimated memory usage of a segment without its deltas, in bytes.
+     */
+    private long getKeyframeMemory() {
+        return OBJECT_OVERHEAD * 2 + 8L * this.newestFrame.length;
+    }
+
+    /**
+     * Clears every held generation.
+     */
+    public synchronized void clear() {
+        this.segments.clear();
+        this.restored.clear();
+        this.thinnedCount = 0;
+        this.memoryUsage = 0;
+        this.consumedChanges = -1;
+    }
+
+    /**
+     * Getter method for the earliest held generation.
+     * @return The generation, or -1 if the timeline is empty.
+     */
+    public synchronized long getFirstGeneration() {
+        return this.segments.isEmpty() ? -1 : this.segments.get(0).generation;
+    }
+
+    /**
+     * Getter method for the newest held generation.
+     * @return The generation, or -1 if the timeline is empty.
+     */
+    public synchronized long getLastGeneration() {
+        return this.segments.isEmpty() ? -1 : this.segments.get(this.segments.size() - 1).getLastGeneration();
+    }
+
+    /**
+     * Getter method for the number of keyframes held.
+     * @return The keyframe count.
+     */
+    public synchronized int getKeyframeCount() {
+        return this.segments.size();
+    }
+
+    /**
+     * Getter method for the n by n dimensions of the held generations.
+     * @return The n dimension of the held generations, zero if the timeline is empty.
+     */
+    public synchronized int getGridDimensions() {
+        return this.segments.isEmpty() ? 0 : this.gridDimensions;
+    }
+
+    /**
+     * Getter method for the estimated memory usage of the held generations.
+     * @return The estimated memory usage, in bytes.
+     */
+    public synchronized long getMemoryUsage() {
+        return this.memoryUsage;
+    }
+
+    /**
+     * Getter method for the memory cap.
+     * @return The memory cap, in bytes.
+     */
+    public synchronized long getMemoryCap() {
+        return this.memoryCap;
+    }
+
+    /**
+     * <p>
+     * Setter method for the memory cap, thinning the held generations to fit within it.
+     * The newest segment is always kept, so a cap below its size is exceeded.
+     * </p>
+     * @param memoryCap The memory cap, in bytes.
+     */
+    public synchronized void setMemoryCap(long memoryCap) {
+        this.memoryCap = Math.max(0, memoryCap);
+        trim();
+    }
+
+    /**
+     * Setter method for the number of threads thinned segments are recomputed with.
+     * @param parallelism The number of threads, at least one.
+     */
+    public synchronized void setParallelism(int parallelism) {
+        parallelism = Math.max(1, parallelism);
+        if (this.parallelism != parallelism) {
+            this.parallelism = parallelism;
+            if (this.restorePool != null) {
+                this.restorePool.shutdown();
+                this.restorePool = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package dominiccobo.gameoflife.view;
+
+import dominiccobo.gameoflife.model.Grid;
+
+import java.awt.*;
+import java.awt.image.IndexColorModel;
+
+/**
+ *  <p>
+ *  Precomputed palette of every color a cell can be displayed with, that is the base
+ *  dead and alive colors along with the red and green shades of shaded cells, held as
+ *  an 8 bit IndexColorModel so that cells are drawn as single byte palette indexes.
+ *  </p>
+ *  <p>
+ *  Index 0 holds the base dead color and index 1 the base alive color. The SHADE_MINIMUM
+ *  to SHADE_MAXIMUM shades of alive and dead cells then share the remaining 254 indexes,
+ *  127 each. As the 171 shades of either state do not all fit, neighbouring shades share
+ *  an index, which is displayed at most one intensity step from the exact shade.
+ *  </p>
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class CellPalette {
+
+    /**
+     * Constants detailing the palette indexes of the base dead and alive colors.
+     */
+    public static final int INDEX_DEAD = 0;
+    public static final int INDEX_ALIVE = 1;
+
+    /**
+     * Constant detailing the number of indexes given to the shades of either state.
+     */
+    private static final int SHADE_LEVELS = 127;
+
+    /**
+     * Constant detailing the first index of the alive shades, the dead shades following them.
+     */
+    private static final int FIRST_ALIVE_SHADE = 2;
+    private static final int FIRST_DEAD_SHADE = FIRST_ALIVE_SHADE + SHADE_LEVELS;
+
+    /**
+     * Instance variable holding the color model of the palette.
+     */
+    private final IndexColorModel colorModel;
+
+    /**
+     * Instance variable holding the palette index of each signed shade as returned by
+     * Grid.getCellShade(), offset by SHADE_MAXIMUM.
+     */
+    private final byte[] shadeIndex = new byte[2 * Grid.SHADE_MAXIMUM + 1];
+
+    /**
+     * <p>
+     * Constructor precomputing the palette for the given base colors.
+     * </p>
+     * @param deadColor The base color of dead cells.
+     * @param aliveColor The base color of alive cells.
+     */
+    public CellPalette(Color deadColor, Color aliveColor) {
+
+        byte[] red = new byte[256];
+        byte[] green = new byte[256];
+        byte[] blue = new byte[256];
+
+        red[INDEX_DEAD] = (byte) deadColor.getRed();
+        green[INDEX_DEAD] = (byte) deadColor.getGreen();
+        blue[INDEX_DEAD] = (byte) deadColor.getBlue();
+        red[INDEX_ALIVE] = (byte) aliveColor.getRed();
+        green[INDEX_ALIVE] = (byte) aliveColor.getGreen();
+        blue[INDEX_ALIVE] = (byte) aliveColor.getBlue();
+
+        int shadeRange = Grid.SHADE_MAXIMUM - Grid.SHADE_MINIMUM;
+        for (int level = 0; level < SHADE_LEVELS; level++) {
+            int intensity = Grid.SHADE_MINIMUM + Math.round((float) level * shadeRange / (SHADE_LEVELS - 1));
+            green[FIRST_ALIVE_SHADE + level] = (byte) intensity;
+            red[FIRST_DEAD_SHADE + level] = (byte) intensity;
+        }
+
+        for (int shade = Grid.SHADE_MINIMUM; shade <= Grid.SHADE_MAXIMUM; shade++) {
+            int level = Math.round((float) (shade - Grid.SHADE_MINIMUM) * (SHADE_LEVELS - 1) / shadeRange);
+            this.shadeIndex[Grid.SHADE_MAXIMUM + shade] = (byte) (FIRST_ALIVE_SHADE + level);
+            this.shadeIndex[Grid.SHADE_MAXIMUM - shade] = (byte) (FIRST_DEAD_SHADE + level);
+        }
+
+        this.colorModel = new IndexColorModel(8, 256, red, green, blue);
+    }
+
+    /**
+     * <p>
+     * Returns the palette index a cell is displayed with.
+     * </p>
+     * @param alive Whether the cell is alive.
+     * @param shade The shade of the cell as returned by Grid.getCellShade().
+     * @return The palette index of the cell.
+     */
+    public byte getIndex(boolean alive, int shade) {
+        if (shade == 0) return (byte) (alive ? INDEX_ALIVE : INDEX_DEAD);
+        return this.shadeIndex[Grid.SHADE_MAXIMUM + shade];
+    }
+
+    /**
+     * Getter method for the color model of the palette.
+     * @return The 8 bit color model holding every color of the palette.
+     */
+    public IndexColorModel getColorModel() {
+        return this.colorModel;
+    }
+}
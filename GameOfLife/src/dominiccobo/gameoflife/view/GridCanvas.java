@@ -0,0 +1,299 @@
+package dominiccobo.gameoflife.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Arrays;
+
+/**
+ *  <p>
+ *  Single Swing component displaying the whole grid, replacing a component per cell.
+ *  </p>
+ *  <p>
+ *  The color of each cell is held as one pixel of an n by n image, which is scaled to
+ *  the largest square fitting the component whenever it is painted. The image is indexed
+ *  by a CellPalette and cells are written straight to its pixel array as palette indexes,
+ *  so updating a cell costs no more than a byte store, and clicks are mapped back to
+ *  cells by dividing the click position by the cell size.
+ *  </p>
+ *  <p>
+ *  A click on a cell notifies every registered ActionListener with the "cell" action
+ *  command, after which the clicked cell can be read through getSelectedRow() and
+ *  getSelectedCol().
+ *  </p>
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class GridCanvas extends JComponent {
+
+    /**
+     * Constant detailing the serialization version of the class, as a JComponent is Serializable.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constant detailing the smallest on screen size of a cell, in pixels, for which lines
+     * are drawn between cells.
+     */
+    private static final int MINIMUM_CELL_SIZE_FOR_LINES = 4;
+
+    /**
+     * Instance variable holding the color of each cell, one pixel per cell.
+     */
+    private BufferedImage image;
+
+    /**
+     * Instance variable holding the palette index of each cell, the pixel array backing the
+     * image row by row.
+     */
+    private byte[] pixels;
+
+    /**
+     * Instance variable holding the palette the image is indexed by.
+     */
+    private CellPalette palette;
+
+    /**
+     * Instance variable detailing the n by n dimensions of the displayed grid.
+     */
+    private int gridDimensions;
+
+    /**
+     * Instance variable detailing the color of the lines drawn between cells.
+     */
+    private Color lineColor = Color.GRAY;
+
+    /**
+     * Instance variables detailing the row and column index of the last clicked cell.
+     */
+    private int selectedRow = -1;
+    private int selectedCol = -1;
+
+    /**
+     * <p>
+     * Constructor creating a canvas for a grid of the given dimensions, with every cell
+     * painted in the base dead color of the palette.
+     * </p>
+     * @param dimensions The n dimension of the square grid to display.
+     * @param palette The palette of every color a cell can be painted with.
+     */
+    public GridCanvas(int dimensions, CellPalette palette) {
+
+        this.palette = palette;
+        this.setOpaque(true);
+        this.setGridDimensions(dimensions);
+
+        this.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                handleClick(e.getX(), e.getY());
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * Replaces the displayed grid with one of new dimensions, with every cell painted
+     * in the base dead color of the palette.
+     * </p>
+     * @param dimensions The n dimension of the square grid to display.
+     */
+    public void setGridDimensions(int dimensions) {
+        this.gridDimensions = dimensions;
+        this.image = new BufferedImage(dimensions, dimensions, BufferedImage.TYPE_BYTE_INDEXED,
+                this.palette.getColorModel());
+        this.pixels = ((DataBufferByte) this.image.getRaster().getDataBuffer()).getData();
+        this.fill((byte) CellPalette.INDEX_DEAD);
+        this.repaint();
+    }
+
+    /**
+     * <p>
+     * Sets the palette index of a single cell. The change is only shown once the canvas is
+     * next repainted, so that a whole mutation can be written before a single repaint.
+     * </p>
+     * @param rowIdx The row (1d) index of the cell.
+     * @param colIdx The column (2d) index of the cell.
+     * @param index The palette index of the cell, see CellPalette.getIndex().
+     */
+    public void setCellIndex(int rowIdx, int colIdx, byte index) {
+        this.pixels[rowIdx * this.gridDimensions + colIdx] = index;
+    }
+
+    /**
+     * <p>
+     * Sets the palette index of every cell. As with setCellIndex the change is only shown
+     * once the canvas is next repainted.
+     * </p>
+     * @param index The palette index of every cell.
+     */
+    public void fill(byte index) {
+        Arrays.fill(this.pixels, index);
+    }
+
+    /**
+     * <p>
+     * Paints the grid image scaled to the largest square fitting the component, followed
+     * by lines between cells when cells are large enough for them to be seen.
+     * </p>
+     * @param g The graphics context to paint to.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+
+        g.setColor(this.getBackground());
+        g.fillRect(0, 0, this.getWidth(), this.getHeight());
+
+        int side = this.getSide();
+        int originX = (this.getWidth() - side) / 2;
+        int originY = (this.getHeight() - side) / 2;
+
+        Graphics2D g2 = (Graphics2D) g;
+        // blend cells when several share a pixel, keep them sharp otherwise.
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, (side < this.gridDimensions)
+                ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g2.drawImage(this.image, originX, originY, side, side, null);
+
+        if (side / this.gridDimensions >= MINIMUM_CELL_SIZE_FOR_LINES) {
+            g2.setColor(this.lineColor);
+            for (int i = 0; i <= this.gridDimensions; i++) {
+                int offset = (int) ((long) i * side / this.gridDimensions);
+                g2.drawLine(originX + offset, originY, originX + offset, originY + side);
+                g2.drawLine(originX, originY + offset, originX + side, originY + offset);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Repaints only the on screen region of a block of cells, rather than the whole grid.
+     * Swing merges the regions of repaints requested before the next paint into a single
+     * bounding region, so a caller with many scattered changes should pass their bounding
+     * block once rather than each cell in turn, or paint each block with paintCells().
+     * </p>
+     * @param fromRow The row (1d) index of the first row of the block.
+     * @param fromCol The column (2d) index of the first column of the block.
+     * @param toRow The row (1d) index of the last row of the block, inclusive.
+     * @param toCol The column (2d) index of the last column of the block, inclusive.
+     */
+    public void repaintCells(int fromRow, int fromCol, int toRow, int toCol) {
+        this.repaint(this.getCellBounds(fromRow, fromCol, toRow, toCol));
+    }
+
+    /**
+     * <p>
+     * Paints the on screen region of a block of cells straight away, rather than merging it
+     * with other requested repaints, so that several blocks far apart are each painted alone.
+     * Only called on the event dispatch thread.
+     * </p>
+     * @param fromRow The row (1d) index of the first row of the block.
+     * @param fromCol The column (2d) index of the first column of the block.
+     * @param toRow The row (1d) index of the last row of the block, inclusive.
+     * @param toCol The column (2d) index of the last column of the block, inclusive.
+     */
+    public void paintCells(int fromRow, int fromCol, int toRow, int toCol) {
+        this.paintImmediately(this.getCellBounds(fromRow, fromCol, toRow, toCol));
+    }
+
+    /**
+     * @param fromRow The row (1d) index of the first row of the block.
+     * @param fromCol The column (2d) index of the first column of the block.
+     * @param toRow The row (1d) index of the last row of the block, inclusive.
+     * @param toCol The column (2d) index of the last column of the block, inclusive.
+     * @return The on screen region of the block of cells, within the component.
+     */
+    private Rectangle getCellBounds(int fromRow, int fromCol, int toRow, int toCol) {
+
+        int side = this.getSide();
+        int originX = (this.getWidth() - side) / 2;
+        int originY = (this.getHeight() - side) / 2;
+
+        // one pixel of margin either side, for the lines and any blending between cells.
+        int x = originX + (int) ((long) fromCol * side / this.gridDimensions) - 1;
+        int y = originY + (int) ((long) fromRow * side / this.gridDimensions) - 1;
+        int width = originX + (int) ((long) (toCol + 1) * side / this.gridDimensions) + 2 - x;
+        int height = originY + (int) ((long) (toRow + 1) * side / this.gridDimensions) + 2 - y;
+        return new Rectangle(x, y, width, height);
+    }
+
+    /**
+     * <p>
+     * Maps a click to the cell beneath it and notifies the registered listeners.
+     * </p>
+     * @param x The x coordinate of the click within the component.
+     * @param y The y coordinate of the click within the component.
+     */
+    private void handleClick(int x, int y) {
+
+        int side = this.getSide();
+        if (side == 0) return;
+
+        int localX = x - (this.getWidth() - side) / 2;
+        int localY = y - (this.getHeight() - side) / 2;
+        if (localX < 0 || localY < 0 || localX >= side || localY >= side) return;
+
+        int col = (int) ((long) localX * this.gridDimensions / side);
+        int row = (int) ((long) localY * this.gridDimensions / side);
+
+        this.selectedRow = row;
+        this.selectedCol = col;
+
+        ActionEvent event = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "cell");
+        for (ActionListener listener : this.listenerList.getListeners(ActionListener.class)) {
+            listener.actionPerformed(event);
+        }
+    }
+
+    /**
+     * @return The side in pixels of the largest square fitting the component.
+     */
+    private int getSide() {
+        return Math.min(this.getWidth(), this.getHeight());
+    }
+
+    /**
+     * Registers a listener to be notified whenever a cell is clicked.
+     * @param listener The listener to register.
+     */
+    public void addActionListener(ActionListener listener) {
+        this.listenerList.add(ActionListener.class, listener);
+    }
+
+    /**
+     * Setter method for the color of the lines drawn between cells.
+     * @param lineColor The color of the lines.
+     */
+    public void setLineColor(Color lineColor) {
+        this.lineColor = lineColor;
+    }
+
+    /**
+     * Getter method for the n by n dimensions of the displayed grid.
+     * @return The n dimension of the displayed grid.
+     */
+    public int getGridDimensions() {
+        return this.gridDimensions;
+    }
+
+    /**
+     * Getter method for the row of the last clicked cell.
+     * @return The row (1d) index of the last clicked cell.
+     */
+    public int getSelectedRow() {
+        return this.selectedRow;
+    }
+
+    /**
+     * Getter method for the column of the last clicked cell.
+     * @return The column (2d) index of the last clicked cell.
+     */
+    public int getSelectedCol() {
+        return this.selectedCol;
+    }
+}
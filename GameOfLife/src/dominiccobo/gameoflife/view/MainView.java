@@ -4,7 +4,9 @@ import dominiccobo.gameoflife.controller.Controller;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 /**
@@ -31,7 +33,13 @@ public class MainView {
     private JMenu menuHelp;
     private JMenuItem menuOptExit;
     private JMenuItem menuOptSaveAs;
+    private JMenuItem menuOptOpen;
     private JMenuItem menuOptClear;
+    private JMenuItem menuOptStepBack;
+    private JMenuItem menuOptGoTo;
+    private JMenuItem menuOptRule;
+    private JCheckBoxMenuItem menuOptIdle;
+    private JCheckBoxMenuItem menuOptUnthrottled;
     private JMenuItem menuOptAbout;
 
     // Options Panel Items.
@@ -65,8 +73,7 @@ public class MainView {
 
     // Grid Panel items.
     private JPanel gridPanel;
-    private JPanel grid;
-    private JButton[][] grids;
+    private GridCanvas grid;
 
     // other resources
     private final int SCREEN_WIDTH = 800;
@@ -77,6 +84,10 @@ public class MainView {
     private ResourceBundle language;
     private ResourceBundle clr_palette;
 
+    // colors decoded from clr_palette by key, and the palette of every cell color.
+    private final Map<String, Color> colors = new HashMap<>();
+    private CellPalette cellPalette;
+
     private final Controller controller = new Controller(this);
 
     // GridBagConstraint object -> used for assigning items to a GridBag style layout.
@@ -144,6 +155,10 @@ public class MainView {
         this.menuOptExit.setActionCommand("menuOptExit");
         this.menuOptExit.addActionListener(this.controller);
 
+        this.menuOptOpen = new JMenuItem();
+        this.menuOptOpen.setActionCommand("menuOptOpen");
+        this.menuOptOpen.addActionListener(this.controller);
+
         this.menuOptSaveAs = new JMenuItem();
         this.menuOptSaveAs.setActionCommand("menuOptSaveAs");
         this.menuOptSaveAs.addActionListener(this.controller);
@@ -152,6 +167,26 @@ public class MainView {
         this.menuOptClear.setActionCommand("menuOptClear");
         this.menuOptClear.addActionListener(this.controller);
 
+        this.menuOptStepBack = new JMenuItem();
+        this.menuOptStepBack.setActionCommand("menuOptStepBack");
+        this.menuOptStepBack.addActionListener(this.controller);
+
+        this.menuOptGoTo = new JMenuItem();
+        this.menuOptGoTo.setActionCommand("menuOptGoTo");
+        this.menuOptGoTo.addActionListener(this.controller);
+
+        this.menuOptRule = new JMenuItem();
+        this.menuOptRule.setActionCommand("menuOptRule");
+        this.menuOptRule.addActionListener(this.controller);
+
+        this.menuOptIdle = new JCheckBoxMenuItem();
+        this.menuOptIdle.setActionCommand("menuOptIdle");
+        this.menuOptIdle.addActionListener(this.controller);
+
+        this.menuOptUnthrottled = new JCheckBoxMenuItem();
+        this.menuOptUnthrottled.setActionCommand("menuOptUnthrottled");
+        this.menuOptUnthrottled.addActionListener(this.controller);
+
         this.menuOptAbout = new JMenuItem();
         this.menuOptAbout.setActionCommand("menuOptAbout");
         this.menuOptAbout.addActionListener(this.controller);
@@ -160,10 +195,16 @@ public class MainView {
             MenuBar
 
             File
+              >Open Pattern
               >Save As
               >Exit
             Edit
               >Clear All
+              >Step Back
+              >Go To Generation
+              >Set Rule
+              >Idle On Cycle
+              >Run Unthrottled
             Help
                >About
          */
@@ -172,9 +213,15 @@ public class MainView {
         this.menuBar.add(this.menuEdit); // add the Edit menu to the menu bar
         this.menuBar.add(this.menuHelp); // add the Help menu to the menu bar
 
-        this.menuFile.add(this.menuOptSaveAs, 0); // add the Save As menu option to the File menu
-        this.menuFile.add(this.menuOptExit, 1);
+        this.menuFile.add(this.menuOptOpen, 0); // add the Open Pattern menu option to the File menu
+        this.menuFile.add(this.menuOptSaveAs, 1); // add the Save As menu option to the File menu
+        this.menuFile.add(this.menuOptExit, 2);
         this.menuEdit.add(this.menuOptClear, 0);
+        this.menuEdit.add(this.menuOptStepBack, 1);
+        this.menuEdit.add(this.menuOptGoTo, 2);
+        this.menuEdit.add(this.menuOptRule, 3);
+        this.menuEdit.add(this.menuOptIdle, 4);
+        this.menuEdit.add(this.menuOptUnthrottled, 5);
         this.menuHelp.add(this.menuOptAbout, 0);
 
         /// assign the menuBar to the mainFrame
@@ -192,39 +239,21 @@ public class MainView {
     }
 
     /**
-     * Instantiate the actual grid itself by using an array of buttons and a grid layout.
+     * Instantiate the actual grid itself as a single canvas, or resize the existing canvas.
      * @param dimensions dimensions of the square grid to create.
      */
     public void updateGridSize(int dimensions) {
-        if(this.grids != null) {
-            for(int i = 0; i < this.grids.length; i++) {
-                for(int j = 0; j < this.grids.length; j++) {
-                    this.grid.remove(this.grids[i][j]);
-                    this.grids[i][j] = null;
-                }
-            }
+        if(this.grid == null) {
+            this.grid = new GridCanvas(dimensions, this.cellPalette);
+            this.grid.setBackground(getColors("color_grid_holder"));
+            this.grid.setLineColor(getColors("color_grid_holder"));
+            this.grid.addActionListener(this.controller);
+            this.gridPanel.add(this.grid);
+            this.gridPanel.revalidate();
         }
-        if(this.grid != null) this.gridPanel.remove(this.grid);
-
-        this.grids = new JButton[dimensions][dimensions];
-
-        this.grid = new JPanel();
-        this.grid.setLayout(new GridLayout(dimensions, dimensions));
-
-        for(int i = 0; i < this.grids.length; i++) {
-            for (int j = 0; j < this.grids.length; j++) {
-                this.grids[i][j] = new JButton();
-                this.grids[i][j].setBackground(getColors("color_cell_dead"));
-                this.grids[i][j].setSize(600/20, 600/20);
-                this.grids[i][j].setPreferredSize(new Dimension(600/20, 600/20));
-                this.grids[i][j].setActionCommand("cell");
-                this.grids[i][j].addActionListener(this.controller);
-                this.grid.add(grids[i][j]);
-            }
+        else {
+            this.grid.setGridDimensions(dimensions);
         }
-        this.grid.updateUI();
-        this.gridPanel.updateUI();
-        this.gridPanel.add(grid);
     }
 
     /**
@@ -650,6 +679,7 @@ public class MainView {
     private void loadResources() {
         this.language = ResourceBundle.getBundle("dominiccobo.gameoflife.res.string", Locale.UK);
         this.clr_palette = ResourceBundle.getBundle("dominiccobo.gameoflife.res.color");
+        this.cellPalette = new CellPalette(getColors("color_cell_dead"), getColors("color_cell_alive"));
     }
 
     /**
@@ -663,8 +693,14 @@ public class MainView {
         this.menuHelp.setText(this.language.getString("menu_help"));
 
         this.menuOptExit.setText(language.getString("menu_opt_exit"));
+        this.menuOptOpen.setText(language.getString("menu_opt_open"));
         this.menuOptSaveAs.setText(language.getString("menu_opt_save_as"));
         this.menuOptClear.setText(language.getString("menu_opt_clear"));
+        this.menuOptStepBack.setText(language.getString("menu_opt_step_back"));
+        this.menuOptGoTo.setText(language.getString("menu_opt_go_to"));
+        this.menuOptRule.setText(language.getString("menu_opt_rule"));
+        this.menuOptIdle.setText(language.getString("menu_opt_idle"));
+        this.menuOptUnthrottled.setText(language.getString("menu_opt_unthrottled"));
         this.menuOptAbout.setText(language.getString("menu_opt_about"));
 
         this.gridPanel.setBackground(Color.decode(this.clr_palette.getString("color_grid_holder")));
@@ -735,6 +771,22 @@ public class MainView {
     }
 
 
+    /**
+     * Getter method for menuOptIdle.
+     * @return A public reference to the menuOptIdle object.
+     */
+    public JCheckBoxMenuItem getMenuOptIdle() {
+        return this.menuOptIdle;
+    }
+
+    /**
+     * Getter method for menuOptUnthrottled.
+     * @return A public reference to the menuOptUnthrottled object.
+     */
+    public JCheckBoxMenuItem getMenuOptUnthrottled() {
+        return this.menuOptUnthrottled;
+    }
+
     /**
      * Getter method for btnStart.
      * @return A public reference to the btnStart object.
@@ -824,11 +876,11 @@ public class MainView {
     }
 
     /**
-     * Getter method for grids button array.
-     * @return A public reference to the array of grids objects.
+     * Getter method for the grid canvas.
+     * @return A public reference to the grid canvas object.
      */
-    public JButton[][] getGrids() {
-        return this.grids;
+    public GridCanvas getGrid() {
+        return this.grid;
     }
 
     /**
@@ -841,11 +893,19 @@ public class MainView {
     }
 
     /**
-     * Getter method for the color resources
+     * Getter method for the color resources, each color being decoded once on first use.
      * @param keyName The specific key id of the color to retrieve.
      * @return The Color value of the element retrieved from the resources.
      */
     public Color getColors(String keyName) {
-        return Color.decode(this.clr_palette.getString(keyName));
+        return this.colors.computeIfAbsent(keyName, key -> Color.decode(this.clr_palette.getString(key)));
+    }
+
+    /**
+     * Getter method for the palette of every color a cell can be displayed with.
+     * @return A public reference to the cell palette object.
+     */
+    public CellPalette getCellPalette() {
+        return this.cellPalette;
     }
 }
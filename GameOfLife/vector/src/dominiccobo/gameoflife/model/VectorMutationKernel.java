@@ -0,0 +1,125 @@
+package dominiccobo.gameoflife.model;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *  <p>
+ *  Mutation kernel counting adjacent alive cells and applying the rule of a Grid
+ *  across whole vector lanes at once, through the incubating Java Vector API.
+ *  </p>
+ *  <p>
+ *  Each row is first reduced to a padded row of ones and zeros, with the last
+ *  column copied before the first and the first copied after the last so the
+ *  grid wraps as in Grid. The adjacent alive count of a run of cells is then the
+ *  sum of nine shifted loads of the three padded rows, minus the cells themselves.
+ *  The rule is applied without branches by shifting the survival mask of the rule
+ *  in alive lanes, or its birth mask in the others, right by the count of each lane,
+ *  leaving the next state of the cell in the lowest bit.
+ *  </p>
+ *  <p>
+ *  This class is compiled and run against the jdk.incubator.vector module and is
+ *  only ever loaded by name from Grid, which falls back to its scalar mutation if
+ *  loading fails.
+ *  </p>
+ *
+ *  @author Dominic Cobo
+ *  @since October 2026
+ */
+public class VectorMutationKernel implements MutationKernel {
+
+    /**
+     * Constant detailing the preferred vector shape of the running platform.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Instance variable holding the padded alive row of each row of the grid.
+     */
+    private int[][] alivePadded = new int[0][];
+
+    /**
+     * Default constructor, the padded rows are allocated on the first mutation.
+     */
+    public VectorMutationKernel() {}
+
+    @Override
+    public void mutate(int[][] currentShaded, int[][] nextShaded, Rule rule) {
+
+        int span = currentShaded.length;
+        IntVector birthMasks = IntVector.broadcast(SPECIES, rule.getBirthMask());
+        IntVector survivalMasks = IntVector.broadcast(SPECIES, rule.getSurvivalMask());
+        if (this.alivePadded.length != span) {
+            this.alivePadded = new int[span][span + 2];
+        }
+
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            int[] row = currentShaded[rowIdx];
+            int[] padded = this.alivePadded[rowIdx];
+            for (int colIdx = 0; colIdx < span; colIdx++) {
+                padded[colIdx + 1] = (row[colIdx] > 0) ? 1 : 0;
+            }
+            padded[0] = padded[span];
+            padded[span + 1] = padded[1];
+        }
+
+        int upperBound = SPECIES.loopBound(span);
+
+        for (int rowIdx = 0; rowIdx < span; rowIdx++) {
+            int[] above = this.alivePadded[(rowIdx == 0) ? span - 1 : rowIdx - 1];
+            int[] middle = this.alivePadded[rowIdx];
+            int[] below = this.alivePadded[(rowIdx == span - 1) ? 0 : rowIdx + 1];
+            int[] current = currentShaded[rowIdx];
+            int[] next = nextShaded[rowIdx];
+
+            int colIdx = 0;
+            for (; colIdx < upperBound; colIdx += SPECIES.length()) {
+
+                IntVector aliveCount = IntVector.fromArray(SPECIES, above, colIdx)
+                        .add(IntVector.fromArray(SPECIES, above, colIdx + 1))
+                        .add(IntVector.fromArray(SPECIES, above, colIdx + 2))
+                        .add(IntVector.fromArray(SPECIES, middle, colIdx))
+                        .add(IntVector.fromArray(SPECIES, middle, colIdx + 2))
+                        .add(IntVector.fromArray(SPECIES, below, colIdx))
+                        .add(IntVector.fromArray(SPECIES, below, colIdx + 1))
+                        .add(IntVector.fromArray(SPECIES, below, colIdx + 2));
+
+                IntVector value = IntVector.fromArray(SPECIES, current, colIdx);
+                VectorMask<Integer> alive = value.compare(VectorOperators.GT, 0);
+                VectorMask<Integer> dead = value.compare(VectorOperators.LT, 0);
+                VectorMask<Integer> nextAlive = birthMasks.blend(survivalMasks, alive)
+                        .lanewise(VectorOperators.LSHR, aliveCount)
+                        .and(1)
+                        .compare(VectorOperators.NE, 0);
+
+                // cells keeping their state age by one, those changing state are reset.
+                value.add(1, alive)
+                        .sub(1, dead)
+                        .blend(Grid.STATE_DEAD, alive.andNot(nextAlive))
+                        .blend(Grid.STATE_ALIVE, nextAlive.andNot(alive))
+                        .intoArray(next, colIdx);
+            }
+
+            // the remaining cells which do not fill a whole vector.
+            for (; colIdx < span; colIdx++) {
+                int aliveCount = above[colIdx] + above[colIdx + 1] + above[colIdx + 2]
+                        + middle[colIdx] + middle[colIdx + 2]
+                        + below[colIdx] + below[colIdx + 1] + below[colIdx + 2];
+                int value = current[colIdx];
+                boolean nextAlive = rule.next(value > 0, aliveCount);
+
+                if (value > 0 && !nextAlive) {
+                    next[colIdx] = Grid.STATE_DEAD;
+                }
+                else if (value <= 0 && nextAlive) {
+                    next[colIdx] = Grid.STATE_ALIVE;
+                }
+                else if (value > 0) next[colIdx] = value + 1;
+                else if (value < 0) next[colIdx] = value - 1;
+                else next[colIdx] = 0;
+            }
+        }
+    }
+}